@@ -0,0 +1,142 @@
+package girllead.benchmarks;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Random;
+
+import org.springframework.test.util.ReflectionTestUtils;
+
+import girllead.Service.BookingService;
+import girllead.Service.VendorService;
+import girllead.demo.Security.JwtService;
+import girllead.demo.backendenums.BookingStatus;
+import girllead.demo.backendenums.UserRole;
+import girllead.demo.backendenums.VendorCategory;
+import girllead.demo.dto.BookingResponse;
+import girllead.demo.dto.VendorResponse;
+import girllead.demo.model.Booking;
+import girllead.demo.model.User;
+import girllead.demo.model.Vendor;
+
+// Deterministic entities and hand-wired beans shared by the benchmarks. Nothing here starts a Spring context
+// or touches a database; beans get the same values application.properties would give them.
+final class BenchmarkData {
+
+    static final String JWT_SECRET = "404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970";
+    static final long JWT_EXPIRATION = 900000;
+
+    private static final String[] CITIES = {"Nairobi", "Mombasa", "Kisumu", "Nakuru", "Eldoret", "Thika", "Naivasha"};
+    private static final String[] WORDS = {"elegant", "wedding", "corporate", "garden", "premium", "classic",
+            "modern", "luxury", "budget", "outdoor", "catering", "photography", "sound", "lighting", "events"};
+    private static final VendorCategory[] CATEGORIES = VendorCategory.values();
+
+    // The services' private mappers, called as-is rather than copied so the benchmark tracks the real code.
+    // static final handles are constant-folded by the JIT, so invokeExact costs the same as a direct call.
+    static final MethodHandle CONVERT_TO_RESPONSE =
+            privateMethod(VendorService.class, "convertToResponse", VendorResponse.class, Vendor.class);
+    static final MethodHandle MAP_TO_BOOKING_RESPONSE =
+            privateMethod(BookingService.class, "mapToBookingResponse", BookingResponse.class, Booking.class);
+
+    private BenchmarkData() {
+    }
+
+    static JwtService jwtService() {
+        JwtService jwtService = new JwtService();
+        ReflectionTestUtils.setField(jwtService, "secretKey", JWT_SECRET);
+        ReflectionTestUtils.setField(jwtService, "jwtExpiration", JWT_EXPIRATION);
+        ReflectionTestUtils.setField(jwtService, "refreshExpiration", 1209600000L);
+        ReflectionTestUtils.setField(jwtService, "verifiedCacheSize", 10000L);
+        ReflectionTestUtils.invokeMethod(jwtService, "init");
+        return jwtService;
+    }
+
+    static User user(long id) {
+        User user = new User("user" + id, "user" + id + "@example.com", "$2a$10$benchmarkbenchmarkbenchmarkbenchmarkbenchmarkbenchma",
+                "First" + id, "Last" + id);
+        user.setId(id);
+        user.setRole(UserRole.USER);
+        user.setPhoneNumber("+2547" + String.format("%08d", id % 100000000));
+        user.setIsActive(true);
+        return user;
+    }
+
+    static Vendor vendor(long id, Random random) {
+        User owner = user(1_000_000_000L + id);
+        owner.setRole(UserRole.VENDOR);
+        Vendor vendor = new Vendor(words(random, 2) + " " + id, CATEGORIES[random.nextInt(CATEGORIES.length)], owner);
+        vendor.setId(id);
+        vendor.setDescription(words(random, 12));
+        vendor.setServiceLocation(CITIES[random.nextInt(CITIES.length)]);
+        BigDecimal minPrice = BigDecimal.valueOf(5000 + random.nextInt(95000), 0);
+        vendor.setMinPrice(minPrice);
+        vendor.setMaxPrice(minPrice.add(BigDecimal.valueOf(random.nextInt(200000))));
+        vendor.setAverageRating(BigDecimal.valueOf(random.nextInt(501), 2));
+        vendor.setTotalReviews(random.nextInt(300));
+        vendor.setProfileImageUrl("https://cdn.example.com/vendors/" + id + "/profile.jpg");
+        vendor.setGalleryImages(List.of(
+                "https://cdn.example.com/vendors/" + id + "/1.jpg",
+                "https://cdn.example.com/vendors/" + id + "/2.jpg",
+                "https://cdn.example.com/vendors/" + id + "/3.jpg"));
+        vendor.setIsVerified(random.nextInt(10) < 8);
+        vendor.setIsAvailable(random.nextInt(10) < 9);
+        vendor.setYearsOfExperience(random.nextInt(25));
+        vendor.setCreatedAt(LocalDateTime.of(2023, 1, 1, 0, 0).plusMinutes(random.nextInt(1_000_000)));
+        owner.setVendor(vendor);
+        return vendor;
+    }
+
+    static Booking booking(long id, User user, Vendor vendor, Random random) {
+        LocalDateTime eventDate = LocalDateTime.of(2026, 1, 1, 10, 0).plusDays(random.nextInt(365));
+        Booking booking = new Booking(user, vendor, eventDate, CITIES[random.nextInt(CITIES.length)],
+                BigDecimal.valueOf(10000 + random.nextInt(500000), 2));
+        booking.setId(id);
+        booking.setEventType("Wedding");
+        booking.setGuestCount(50 + random.nextInt(450));
+        booking.setSpecialRequests(words(random, 8));
+        booking.setBudget(BigDecimal.valueOf(50000 + random.nextInt(500000), 2));
+        booking.setStatus(BookingStatus.values()[random.nextInt(BookingStatus.values().length)]);
+        booking.setCreatedAt(eventDate.minusDays(30));
+        booking.setUpdatedAt(eventDate.minusDays(29));
+        return booking;
+    }
+
+    static VendorResponse vendorResponse(VendorService vendorService, Vendor vendor) {
+        try {
+            return (VendorResponse) CONVERT_TO_RESPONSE.invokeExact(vendorService, vendor);
+        } catch (Throwable e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    static BookingResponse bookingResponse(BookingService bookingService, Booking booking) {
+        try {
+            return (BookingResponse) MAP_TO_BOOKING_RESPONSE.invokeExact(bookingService, booking);
+        } catch (Throwable e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    static String words(Random random, int count) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                text.append(' ');
+            }
+            text.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return text.toString();
+    }
+
+    private static MethodHandle privateMethod(Class<?> owner, String name, Class<?> returnType, Class<?> parameterType) {
+        try {
+            return MethodHandles.privateLookupIn(owner, MethodHandles.lookup())
+                    .findVirtual(owner, name, MethodType.methodType(returnType, parameterType));
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package girllead.benchmarks;
+
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.openjdk.jmh.Main;
+
+// Entry point of benchmarks.jar. Same options as JMH's own Main, but results are written as JSON to
+// benchmarks/target/jmh/<timestamp>.json unless -rf/-rff say otherwise, so every run leaves a file to compare
+// against. The directory is found from the jar's location, so it does not depend on where the jar is launched.
+public final class BenchmarkRunner {
+
+    private static final DateTimeFormatter RUN_ID = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    private BenchmarkRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        List<String> options = new ArrayList<>(Arrays.asList(args));
+        if (!options.contains("-rf")) {
+            options.add("-rf");
+            options.add("json");
+        }
+        if (!options.contains("-rff")) {
+            Path results = buildDirectory().resolve("jmh");
+            Files.createDirectories(results);
+            options.add("-rff");
+            options.add(results.resolve(LocalDateTime.now().format(RUN_ID) + ".json").toString());
+        }
+        Main.main(options.toArray(new String[0]));
+    }
+
+    // ---- Private Helper Methods ----
+    // benchmarks/target, the parent of both target/benchmarks.jar and target/classes
+    private static Path buildDirectory() throws URISyntaxException {
+        Path codeSource = Path.of(BenchmarkRunner.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+        return codeSource.toAbsolutePath().getParent();
+    }
+}
@@ -0,0 +1,93 @@
+package girllead.benchmarks;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import girllead.demo.Security.InMemoryTokenRevocationStore;
+import girllead.demo.Security.InMemoryTokenVersionStore;
+import girllead.demo.Security.JwtAuthenticationFilter;
+import girllead.demo.Security.JwtService;
+import girllead.demo.Security.TokenVersionRegistry;
+import girllead.demo.Security.UserSnapshot;
+import girllead.demo.backendenums.UserRole;
+import girllead.demo.model.User;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+
+// Per-request cost of JwtAuthenticationFilter. statelessAuth=false adds the UserDetailsService lookup; the
+// lookup here is a cache hit, as it is in CustomUserDetailsService for an active user.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtAuthenticationFilterBenchmark {
+
+    @Param({"true", "false"})
+    private boolean statelessAuth;
+
+    private final FilterChain chain = (request, response) -> { };
+    private final MockHttpServletResponse response = new MockHttpServletResponse();
+    private JwtAuthenticationFilter filter;
+    private MockHttpServletRequest authenticatedRequest;
+    private MockHttpServletRequest publicRequest;
+
+    @Setup
+    public void setUp() {
+        JwtService jwtService = BenchmarkData.jwtService();
+        User user = BenchmarkData.user(42);
+        UserSnapshot snapshot = new UserSnapshot(user.getId(), user.getUsername(), user.getPassword(),
+                UserRole.USER, null, 0, true);
+        UserDetailsService userDetailsService = username -> snapshot;
+
+        filter = new JwtAuthenticationFilter();
+        ReflectionTestUtils.setField(filter, "jwtService", jwtService);
+        ReflectionTestUtils.setField(filter, "userDetailsService", userDetailsService);
+        TokenVersionRegistry tokenVersionRegistry = new TokenVersionRegistry();
+        ReflectionTestUtils.setField(tokenVersionRegistry, "store", new InMemoryTokenVersionStore(BenchmarkData.JWT_EXPIRATION));
+        ReflectionTestUtils.setField(filter, "tokenVersionRegistry", tokenVersionRegistry);
+        ReflectionTestUtils.setField(filter, "tokenRevocationStore", new InMemoryTokenRevocationStore(new SimpleMeterRegistry()));
+        ReflectionTestUtils.setField(filter, "statelessAuth", statelessAuth);
+
+        authenticatedRequest = new MockHttpServletRequest("GET", "/bookings/my-bookings");
+        authenticatedRequest.addHeader("Authorization", "Bearer " + jwtService.generateToken(user));
+        publicRequest = new MockHttpServletRequest("GET", "/vendors/search");
+    }
+
+    @Benchmark
+    public Authentication authenticatedRequest() throws ServletException, IOException {
+        filter.doFilter(authenticatedRequest, response, chain);
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        SecurityContextHolder.clearContext();
+        return authentication;
+    }
+
+    // Public paths are recognised by the PublicEndpoints trie and skip token handling entirely
+    @Benchmark
+    public Authentication publicRequest() throws ServletException, IOException {
+        filter.doFilter(publicRequest, response, chain);
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        SecurityContextHolder.clearContext();
+        return authentication;
+    }
+}
@@ -0,0 +1,62 @@
+package girllead.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import girllead.demo.Security.JwtService;
+import girllead.demo.Security.ParsedToken;
+import girllead.demo.model.User;
+import io.jsonwebtoken.Claims;
+
+// Token issue (login, refresh) and verification (every authenticated request)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtServiceBenchmark {
+
+    private JwtService jwtService;
+    private User user;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtService = BenchmarkData.jwtService();
+        user = BenchmarkData.user(42);
+        token = jwtService.generateToken(user);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtService.generateToken(user);
+    }
+
+    @Benchmark
+    public String generateRefreshToken() {
+        return jwtService.generateRefreshToken(user);
+    }
+
+    // What the filter calls: a repeat token is answered from the verified-token cache after one SHA-256
+    @Benchmark
+    public ParsedToken parseCached() {
+        return jwtService.parse(token);
+    }
+
+    // Full HMAC check and claims decoding on every call, as each request paid before the cache
+    @Benchmark
+    public String verifyUncached() {
+        return jwtService.extractClaim(token, Claims::getSubject);
+    }
+}
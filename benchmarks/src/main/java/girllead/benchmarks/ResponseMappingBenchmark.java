@@ -0,0 +1,54 @@
+package girllead.benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import girllead.Service.BookingService;
+import girllead.Service.VendorService;
+import girllead.demo.dto.BookingResponse;
+import girllead.demo.dto.VendorResponse;
+import girllead.demo.model.Booking;
+import girllead.demo.model.Vendor;
+
+// Entity to DTO mapping, run once per row of every vendor and booking response
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResponseMappingBenchmark {
+
+    private final VendorService vendorService = new VendorService();
+    private final BookingService bookingService = new BookingService();
+    private Vendor vendor;
+    private Booking booking;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        vendor = BenchmarkData.vendor(1, random);
+        booking = BenchmarkData.booking(1, BenchmarkData.user(7), vendor, random);
+    }
+
+    @Benchmark
+    public VendorResponse convertToResponse() throws Throwable {
+        return (VendorResponse) BenchmarkData.CONVERT_TO_RESPONSE.invokeExact(vendorService, vendor);
+    }
+
+    @Benchmark
+    public BookingResponse mapToBookingResponse() throws Throwable {
+        return (BookingResponse) BenchmarkData.MAP_TO_BOOKING_RESPONSE.invokeExact(bookingService, booking);
+    }
+}
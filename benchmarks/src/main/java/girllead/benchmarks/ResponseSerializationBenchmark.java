@@ -0,0 +1,86 @@
+package girllead.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import girllead.Service.BookingService;
+import girllead.Service.VendorService;
+import girllead.demo.dto.BookingResponse;
+import girllead.demo.dto.CursorPage;
+import girllead.demo.dto.VendorResponse;
+import girllead.demo.model.User;
+import girllead.demo.model.Vendor;
+
+// Jackson cost of the two page shapes the API returns: Page<VendorResponse> from /vendors/search and
+// CursorPage<BookingResponse> from the booking lists. 10 is the search default, 100 the cursor page cap.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResponseSerializationBenchmark {
+
+    @Param({"10", "100"})
+    private int pageSize;
+
+    private ObjectMapper objectMapper;
+    private Page<VendorResponse> vendorPage;
+    private CursorPage<BookingResponse> bookingPage;
+
+    @Setup
+    public void setUp() {
+        // Spring Boot's defaults: JavaTimeModule registered, dates as ISO-8601 strings
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS,
+                        SerializationFeature.WRITE_DURATIONS_AS_TIMESTAMPS)
+                .build();
+
+        Random random = new Random(42);
+        VendorService vendorService = new VendorService();
+        BookingService bookingService = new BookingService();
+        User user = BenchmarkData.user(7);
+        List<VendorResponse> vendors = new ArrayList<>();
+        List<BookingResponse> bookings = new ArrayList<>();
+        for (int i = 1; i <= pageSize; i++) {
+            Vendor vendor = BenchmarkData.vendor(i, random);
+            vendors.add(BenchmarkData.vendorResponse(vendorService, vendor));
+            bookings.add(BenchmarkData.bookingResponse(bookingService, BenchmarkData.booking(i, user, vendor, random)));
+        }
+        vendorPage = new PageImpl<>(vendors, PageRequest.of(0, pageSize, Sort.by(Sort.Direction.DESC, "averageRating")), 5000);
+        bookingPage = new CursorPage<>(bookings, "eyJzIjoiY3JlYXRlZEF0IiwiZCI6ImRlc2MifQ", pageSize);
+    }
+
+    @Benchmark
+    public byte[] vendorPage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(vendorPage);
+    }
+
+    @Benchmark
+    public byte[] bookingCursorPage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(bookingPage);
+    }
+}
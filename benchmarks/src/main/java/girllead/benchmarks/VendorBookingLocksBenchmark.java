@@ -0,0 +1,71 @@
+package girllead.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import girllead.demo.availability.VendorBookingLocks;
+
+// Booking throughput through the striped vendor locks. Each operation is one simulated booking transaction:
+// take the vendor's stripe, do a fixed amount of work while holding it, release on completion.
+// vendors=same puts every thread on one vendor; vendors=distinct gives each thread its own.
+// Compare scaling with -t 1, -t 2, -t 4, -t 8.
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(8)
+public class VendorBookingLocksBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Locks {
+        final VendorBookingLocks locks = new VendorBookingLocks(64);
+        final AtomicLong nextVendorId = new AtomicLong();
+    }
+
+    @State(Scope.Thread)
+    public static class Booker {
+
+        @Param({"same", "distinct"})
+        String vendors;
+
+        long vendorId;
+
+        @Setup
+        public void setUp(Locks shared) {
+            vendorId = vendors.equals("same") ? 1 : shared.nextVendorId.incrementAndGet();
+        }
+    }
+
+    @Benchmark
+    public void book(Locks shared, Booker booker) {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            shared.locks.lockUntilCompletion(booker.vendorId);
+            // Stand-in for the availability check and insert done under the lock
+            Blackhole.consumeCPU(500);
+        } finally {
+            List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+            TransactionSynchronizationManager.clearSynchronization();
+            TransactionSynchronizationUtils.invokeAfterCompletion(synchronizations, TransactionSynchronization.STATUS_COMMITTED);
+        }
+    }
+}
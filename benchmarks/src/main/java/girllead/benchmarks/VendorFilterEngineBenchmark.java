@@ -0,0 +1,84 @@
+package girllead.benchmarks;
+
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import girllead.demo.backendenums.VendorCategory;
+import girllead.demo.model.Vendor;
+import girllead.demo.repository.VendorRepository;
+import girllead.demo.search.VendorFilterEngine;
+
+// /vendors/search answered by the bitmap filter engine. The engine is built through rebuild() from a
+// VendorRepository stub that streams the same columns streamFilterColumns() selects.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class VendorFilterEngineBenchmark {
+
+    @Param({"1000000"})
+    private int vendorCount;
+
+    private VendorFilterEngine engine;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        VendorRepository vendorRepository = (VendorRepository) Proxy.newProxyInstance(
+                VendorRepository.class.getClassLoader(), new Class<?>[] {VendorRepository.class},
+                (proxy, method, args) -> {
+                    if (!method.getName().equals("streamFilterColumns")) {
+                        throw new UnsupportedOperationException(method.getName());
+                    }
+                    return IntStream.rangeClosed(1, vendorCount).mapToObj(id -> filterColumns(BenchmarkData.vendor(id, random)));
+                });
+
+        engine = new VendorFilterEngine();
+        ReflectionTestUtils.setField(engine, "vendorRepository", vendorRepository);
+        ReflectionTestUtils.setField(engine, "enabled", true);
+        engine.rebuild();
+    }
+
+    // Default search page: every verified, available vendor by rating
+    @Benchmark
+    public VendorFilterEngine.Result topRated() {
+        return engine.search(null, null, null, null, null, 0, 10, "averageRating", true);
+    }
+
+    @Benchmark
+    public VendorFilterEngine.Result categoryPriceAndRating() {
+        return engine.search(VendorCategory.PHOTOGRAPHY, null, new BigDecimal("20000"), new BigDecimal("150000"),
+                new BigDecimal("3.5"), 0, 10, "minPrice", false);
+    }
+
+    @Benchmark
+    public VendorFilterEngine.Result categoryAndLocation() {
+        return engine.search(VendorCategory.CATERING, "Nairobi", null, null, null, 0, 10, "createdAt", true);
+    }
+
+    // ---- Private Helper Methods ----
+    // [id, category, isVerified, isAvailable, minPrice, maxPrice, averageRating, createdAt, serviceLocation]
+    private static Object[] filterColumns(Vendor vendor) {
+        return new Object[] {vendor.getId(), vendor.getCategory(), vendor.getIsVerified(), vendor.getIsAvailable(),
+                vendor.getMinPrice(), vendor.getMaxPrice(), vendor.getAverageRating(), vendor.getCreatedAt(),
+                vendor.getServiceLocation()};
+    }
+}
@@ -0,0 +1,92 @@
+package girllead.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import girllead.demo.search.VendorTextIndex;
+
+// /vendors/search/text: the inverted index against a full scan of every vendor's text, which is the work the
+// LOWER(...) LIKE '%q%' query left to MySQL. For 1M vendors run with -p vendorCount=1000000.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class VendorTextIndexBenchmark {
+
+    @Param({"100000"})
+    private int vendorCount;
+
+    // A common word, a common word plus prefix, a word only a few hundred vendors use, and prefixes of the whole
+    // 10k-word vocabulary next to a common and a rare word
+    @Param({"luxury", "garden lux", "term4242", "garden term", "term4242 t"})
+    private String query;
+
+    private VendorTextIndex index;
+    private String[] text;
+    private String[] terms;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        index = new VendorTextIndex();
+        text = new String[vendorCount];
+        for (int i = 0; i < vendorCount; i++) {
+            long id = i + 1;
+            String businessName = BenchmarkData.words(random, 2) + " " + id;
+            String description = BenchmarkData.words(random, 4) + " " + rareWords(random, 8);
+            String location = random.nextBoolean() ? "Nairobi" : "Mombasa";
+            index.index(id, businessName, description, location);
+            text[i] = (businessName + " " + description + " " + location).toLowerCase(Locale.ROOT);
+        }
+        terms = query.toLowerCase(Locale.ROOT).split(" ");
+    }
+
+    // Free-text descriptions draw from a 10k-word vocabulary, so most terms are selective
+    private static String rareWords(Random random, int count) {
+        StringBuilder words = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            words.append(i > 0 ? " term" : "term").append(random.nextInt(10000));
+        }
+        return words.toString();
+    }
+
+    @Benchmark
+    public List<Long> invertedIndex() {
+        return index.search(query);
+    }
+
+    @Benchmark
+    public List<Long> fullScan() {
+        List<Long> matches = new ArrayList<>();
+        for (int i = 0; i < text.length; i++) {
+            boolean all = true;
+            for (String term : terms) {
+                if (!text[i].contains(term)) {
+                    all = false;
+                    break;
+                }
+            }
+            if (all) {
+                matches.add(i + 1L);
+            }
+        }
+        return matches;
+    }
+}
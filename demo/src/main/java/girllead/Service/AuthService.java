@@ -1,20 +1,31 @@
 package girllead.Service;
 
 import org.apache.coyote.BadRequestException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.AuthenticationException;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import girllead.demo.Exception.ResourceNotFoundException;
+import girllead.demo.Security.CustomUserDetailsService;
 import girllead.demo.Security.JwtService;
+import girllead.demo.Security.LoginAttemptLimiter;
+import girllead.demo.Security.ParsedToken;
+import girllead.demo.Security.PasswordHashingExecutor;
+import girllead.demo.Security.TokenRevocationStore;
 import girllead.demo.backendenums.UserRole;
 import girllead.demo.dto.AuthResponse;
 import girllead.demo.dto.LoginRequest;
 import girllead.demo.dto.RegisterRequest;
+import girllead.demo.identity.UserIdentifierFilter;
 import girllead.demo.model.User;
 import girllead.demo.repository.UserRepository;
 
@@ -23,11 +34,13 @@ import girllead.demo.repository.UserRepository;
 @Transactional
 public class AuthService {
     
+    private static final Logger log = LoggerFactory.getLogger(AuthService.class);
+    
     @Autowired
     private UserRepository userRepository;
     
     @Autowired
-    private PasswordEncoder passwordEncoder;
+    private PasswordHashingExecutor passwordHashing;
     
     @Autowired
     private JwtService jwtService;
@@ -35,45 +48,56 @@ public class AuthService {
     @Autowired
     private AuthenticationManager authenticationManager;
     
-    public AuthResponse login(LoginRequest request) {
+    @Autowired
+    private CustomUserDetailsService userDetailsService;
+    
+    @Autowired
+    private LoginAttemptLimiter loginAttemptLimiter;
+    
+    @Autowired
+    private UserIdentifierFilter userIdentifierFilter;
+    
+    @Autowired
+    private TokenRevocationStore tokenRevocationStore;
+    
+    // Login and registration wait on the BCrypt pool, which can take seconds under load. They must not hold a
+    // pooled connection meanwhile, so they run outside a transaction and open these short ones afterwards.
+    private final TransactionTemplate readOnlyTransaction;
+    private final TransactionTemplate writeTransaction;
+    
+    public AuthService(PlatformTransactionManager transactionManager) {
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+    }
+    
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public AuthResponse login(LoginRequest request, String clientIp) {
         try {
             // Validate input
-            System.out.print("Validating login Request");
             validateLoginRequest(request);
             
-            // Authenticate user
-            System.out.print("Authenticating");
-            authenticationManager.authenticate(
-                    new UsernamePasswordAuthenticationToken(
-                            request.getUsername().trim(),
-                            request.getPassword()
-                    )
-            );
-            
-            // Get user details
-            System.out.print("Placing in database");
-            User user = userRepository.findByUsername(request.getUsername().trim())
-                    .orElseThrow(() -> new RuntimeException("User not found after authentication"));
+            // Refuse accounts and addresses with too many recent failures before doing any real work
+            loginAttemptLimiter.checkAllowed(request.getUsername(), clientIp);
             
-            // Generate token
-            String token = jwtService.generateToken(user);
-            
-            // Create response
-            AuthResponse response = new AuthResponse(
-                    token,
-                    user.getId(),
-                    user.getUsername(),
-                    user.getEmail(),
-                    user.getFullName(),
-                    user.getRole()
-            );
-            
-            // If user is a vendor, include vendor ID
-            if (user.getVendor() != null) {
-                response.setVendorId(user.getVendor().getId());
+            // Authenticate user; the BCrypt check runs on the bounded hashing pool
+            try {
+                passwordHashing.verify(() -> authenticationManager.authenticate(
+                        new UsernamePasswordAuthenticationToken(
+                                request.getUsername().trim(),
+                                request.getPassword()
+                        )
+                ));
+            } catch (BadCredentialsException e) {
+                loginAttemptLimiter.recordFailure(request.getUsername(), clientIp);
+                throw e;
             }
+            loginAttemptLimiter.recordSuccess(request.getUsername());
             
-            return response;
+            // Get user details, generate tokens and create response
+            return readOnlyTransaction.execute(status -> buildAuthResponse(
+                    userRepository.findByUsername(request.getUsername().trim())
+                            .orElseThrow(() -> new RuntimeException("User not found after authentication"))));
             
         } catch (BadCredentialsException e) {
             throw new RuntimeException("Invalid username or password");
@@ -82,6 +106,87 @@ public class AuthService {
         }
     }
 
+    // Fresh access/refresh pair reflecting the user's current role, e.g. right after becoming a vendor. The role
+    // change bumps the token version, so the refresh token the user already holds no longer works.
+    @Transactional(readOnly = true)
+    public AuthResponse issueTokens(Long userId) {
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+        return buildAuthResponse(user);
+    }
+
+    // Exchanges a refresh token for a new access/refresh pair. Each refresh token works once: it is revoked here,
+    // so a stolen token that has already been used is rejected, and a reused one is rejected for its rightful owner.
+    @Transactional(readOnly = true)
+    public AuthResponse refresh(String refreshToken) {
+        if (refreshToken == null || refreshToken.trim().isEmpty()) {
+            throw new IllegalArgumentException("Refresh token cannot be empty");
+        }
+        
+        ParsedToken parsed;
+        try {
+            parsed = jwtService.parse(refreshToken.trim());
+        } catch (RuntimeException e) {
+            throw new BadCredentialsException("Invalid refresh token");
+        }
+        if (!parsed.isRefreshToken()) {
+            throw new BadCredentialsException("Invalid refresh token");
+        }
+        
+        // The claims may be up to two weeks old, so the account is re-read rather than trusted from the token
+        User user = userRepository.findByUsername(parsed.getSubject())
+                .orElseThrow(() -> new BadCredentialsException("Invalid refresh token"));
+        Integer tokenVersion = parsed.getClaim(JwtService.VERSION_CLAIM, Integer.class);
+        if (!user.isEnabled() || (tokenVersion != null ? tokenVersion : 0) < user.getTokenVersion()) {
+            throw new BadCredentialsException("Invalid refresh token");
+        }
+        
+        // Atomic, so two concurrent exchanges of the same token cannot both succeed
+        if (!tokenRevocationStore.revoke(parsed.getId(), parsed.getExpiresAt())) {
+            throw new BadCredentialsException("Invalid refresh token");
+        }
+        
+        return buildAuthResponse(user);
+    }
+    
+    // Revokes the access token and, when supplied, the refresh token. Invalid or expired tokens are ignored
+    // since they are unusable anyway.
+    public void logout(String accessToken, String refreshToken) {
+        revokeQuietly(accessToken);
+        revokeQuietly(refreshToken);
+    }
+
+    private void revokeQuietly(String token) {
+        if (token == null || token.trim().isEmpty()) {
+            return;
+        }
+        try {
+            ParsedToken parsed = jwtService.parse(token.trim());
+            tokenRevocationStore.revoke(parsed.getId(), parsed.getExpiresAt());
+        } catch (RuntimeException e) {
+            // Nothing to revoke
+        }
+    }
+
+    private AuthResponse buildAuthResponse(User user) {
+        AuthResponse response = new AuthResponse(
+                jwtService.generateToken(user),
+                user.getId(),
+                user.getUsername(),
+                user.getEmail(),
+                user.getFullName(),
+                user.getRole()
+        );
+        response.setExpiresIn(jwtService.getExpirationTime() / 1000);
+        response.setRefreshToken(jwtService.generateRefreshToken(user));
+        
+        // If user is a vendor, include vendor ID
+        if (user.getVendor() != null) {
+            response.setVendorId(user.getVendor().getId());
+        }
+        return response;
+    }
+
     private void validateLoginRequest(LoginRequest request) {
         if (request == null) {
             throw new IllegalArgumentException("Login request cannot be null");
@@ -101,76 +206,28 @@ public class AuthService {
         }
     }
 
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public AuthResponse register(RegisterRequest request) throws BadRequestException {
         try {
-            System.out.println("=== REGISTRATION DEBUG START ===");
-            System.out.println("1. Starting registration for user: " + request.getUsername());
+            log.debug("Registering user {}", request.getUsername());
             
             // Validate registration request
-            System.out.println("2. Validating registration request...");
             validateRegisterRequest(request);
-            System.out.println("   ✓ Validation passed");
             
-            // Check if username already exists
-            System.out.println("3. Checking if username exists: " + request.getUsername());
-            if (usernameExists(request.getUsername())) {
-                throw new BadRequestException("Username already exists");
-            }
-            System.out.println("   ✓ Username " + request.getUsername() + " is available");
+            // Hash before any database access, so no connection is held while the BCrypt pool works
+            String passwordHash = passwordHashing.encode(request.getPassword());
             
-            // Check if email already exists
-            System.out.println("4. Checking if email exists: " + request.getEmail());
-            if (emailExists(request.getEmail())) {
-                throw new RuntimeException("Email already exists");
+            // Null when the username is taken; BadRequestException is checked and cannot leave the callback.
+            // Asks the database, not the Bloom filter: the filter only knows names registered through this node.
+            AuthResponse response = writeTransaction.execute(status -> userRepository.existsByUsername(request.getUsername().trim())
+                    ? null : createUser(request, passwordHash));
+            if (response == null) {
+                throw new BadRequestException("Username already exists");
             }
-            System.out.println("   ✓ Email is available");
-
-            System.out.println("5. Creating user object...");
-            // Create new user
-            User user = new User();
-            user.setUsername(request.getUsername().trim());
-            user.setEmail(request.getEmail().trim().toLowerCase());
-            user.setFirstName(request.getFirstName() != null ? request.getFirstName().trim() : null);
-            user.setLastName(request.getLastName() != null ? request.getLastName().trim() : null);
-            user.setPassword(passwordEncoder.encode(request.getPassword()));
-            user.setRole(request.getRole() != null ? request.getRole() : UserRole.USER);
-            user.setIsActive(true);
-            user.setPhoneNumber(request.getPhoneNumber());
-            System.out.println("   ✓ User object created");
-            
-            System.out.println("6. About to save user to database...");
-            // Save user
-            user = userRepository.save(user);
-            System.out.println("   ✓ User saved successfully with ID: " + user.getId());
-
-            System.out.println("7. Generating JWT token...");
-            // Generate token
-            String token = jwtService.generateToken(user);
-            System.out.println("   ✓ JWT token generated successfully");
-            
-            System.out.println("8. Creating response object...");
-            // Create response
-            AuthResponse response = new AuthResponse(
-                    token,
-                    user.getId(),
-                    user.getUsername(),
-                    user.getEmail(),
-                    user.getFullName(),
-                    user.getRole()
-            );
-            System.out.println("   ✓ Response object created");
-            
-            System.out.println("9. Registration completed successfully!");
-            System.out.println("=== REGISTRATION DEBUG END ===");
             return response;
             
         } catch (Exception e) {
-            System.err.println("=== REGISTRATION ERROR ===");
-            System.err.println("Exception type: " + e.getClass().getSimpleName());
-            System.err.println("Exception message: " + e.getMessage());
-            System.err.println("Stack trace:");
-            e.printStackTrace();
-            System.err.println("=== REGISTRATION ERROR END ===");
+            log.debug("Registration failed for {}: {}", request != null ? request.getUsername() : null, e.getMessage());
             
             // Re-throw the original exception
             if (e instanceof BadRequestException) {
@@ -183,6 +240,32 @@ public class AuthService {
         }
     }
     
+    private AuthResponse createUser(RegisterRequest request, String passwordHash) {
+        // Check if email already exists
+        if (userRepository.existsByEmail(request.getEmail().trim().toLowerCase())) {
+            throw new RuntimeException("Email already exists");
+        }
+
+        // Create new user
+        User user = new User();
+        user.setUsername(request.getUsername().trim());
+        user.setEmail(request.getEmail().trim().toLowerCase());
+        user.setFirstName(request.getFirstName() != null ? request.getFirstName().trim() : null);
+        user.setLastName(request.getLastName() != null ? request.getLastName().trim() : null);
+        user.setPassword(passwordHash);
+        user.setRole(request.getRole() != null ? request.getRole() : UserRole.USER);
+        user.setIsActive(true);
+        user.setPhoneNumber(request.getPhoneNumber());
+        
+        // Save user
+        user = userRepository.save(user);
+        userDetailsService.evict(user.getUsername());
+        userIdentifierFilter.add(user.getUsername(), user.getEmail());
+        log.debug("Registered user {} with ID {}", user.getUsername(), user.getId());
+
+        return buildAuthResponse(user);
+    }
+    
     private void validateRegisterRequest(RegisterRequest request) {
         if (request == null) {
             throw new IllegalArgumentException("Registration request cannot be null");
@@ -230,9 +313,10 @@ public class AuthService {
                 return false;
             }
             
-            // Use JwtService to validate the token
-            String username = jwtService.extractUsername(token);
-            if (username == null) {
+            // Use JwtService to validate the token; refresh tokens and revoked tokens are not valid access tokens
+            ParsedToken parsed = jwtService.parse(token);
+            String username = parsed.getSubject();
+            if (username == null || parsed.isRefreshToken() || tokenRevocationStore.isRevoked(parsed.getId())) {
                 return false;
             }
             
@@ -242,40 +326,33 @@ public class AuthService {
                 return false;
             }
             
-            return jwtService.isTokenValid(token, user);
+            return jwtService.isTokenValid(parsed, user);
             
         } catch (Exception e) {
             return false;
         }
     }
 
+    // Availability checks for the registration form. The filter only holds names loaded at startup or registered
+    // on this node, so a name taken elsewhere can be reported free; register() itself always asks the database.
     public boolean usernameExists(String username) {
-        try {
-            if (username == null || username.trim().isEmpty()) {
-                return false;
-            }
-            boolean exists = userRepository.findByUsername(username.trim()).isPresent();
-            System.out.println("   Username exists check: " + username + " = " + exists);
-            return exists;
-        } catch (Exception e) {
-            System.err.println("   Error checking username exists: " + e.getMessage());
-            e.printStackTrace();
-            throw e;
+        if (username == null || username.trim().isEmpty()) {
+            return false;
         }
+        // Only names the Bloom filter might contain need a query
+        boolean exists = userIdentifierFilter.mightContainUsername(username)
+                && userRepository.existsByUsername(username.trim());
+        log.debug("Username exists check: {} = {}", username, exists);
+        return exists;
     }
 
     public boolean emailExists(String email) {
-        try {
-            if (email == null || email.trim().isEmpty()) {
-                return false;
-            }
-            boolean exists = userRepository.findByEmail(email.trim().toLowerCase()).isPresent();
-            System.out.println("   Email exists check: " + email + " = " + exists);
-            return exists;
-        } catch (Exception e) {
-            System.err.println("   Error checking email exists: " + e.getMessage());
-            e.printStackTrace();
-            throw e;
+        if (email == null || email.trim().isEmpty()) {
+            return false;
         }
+        boolean exists = userIdentifierFilter.mightContainEmail(email)
+                && userRepository.existsByEmail(email.trim().toLowerCase());
+        log.debug("Email exists check: {} = {}", email, exists);
+        return exists;
     }
 }
\ No newline at end of file
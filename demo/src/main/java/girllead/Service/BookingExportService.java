@@ -0,0 +1,136 @@
+package girllead.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import girllead.demo.dto.BookingResponse;
+import girllead.demo.repository.BookingRepository;
+
+// Writes booking exports row by row from a database cursor, so heap use does not grow with the table
+@Service
+public class BookingExportService {
+
+    private static final int FLUSH_EVERY = 1000;
+
+    private static final String[] CSV_HEADER = {
+            "id", "eventDate", "eventLocation", "eventType", "guestCount", "specialRequests", "budget", "status",
+            "createdAt", "updatedAt", "userId", "userFullName", "vendorId", "vendorBusinessName"
+    };
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    public enum ExportFormat {
+        NDJSON("application/x-ndjson", "ndjson"),
+        CSV("text/csv", "csv");
+
+        private final String contentType;
+        private final String extension;
+
+        ExportFormat(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public MediaType getMediaType() {
+            return MediaType.parseMediaType(contentType);
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+
+        public static ExportFormat fromString(String format) {
+            for (ExportFormat value : values()) {
+                if (value.name().equalsIgnoreCase(format)) {
+                    return value;
+                }
+            }
+            throw new IllegalArgumentException("Unsupported export format: " + format);
+        }
+    }
+
+    // vendorId == null exports every booking
+    @Transactional(readOnly = true)
+    public long export(Long vendorId, ExportFormat format, OutputStream out) throws IOException {
+        try (Stream<BookingResponse> rows = vendorId != null
+                ? bookingRepository.streamVendorResponses(vendorId)
+                : bookingRepository.streamAllResponses()) {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            long count = format == ExportFormat.CSV
+                    ? writeCsv(rows.iterator(), writer)
+                    : writeNdjson(rows.iterator(), writer);
+            writer.flush();
+            return count;
+        }
+    }
+
+    // ---- Writers ----
+    private long writeNdjson(Iterator<BookingResponse> rows, Writer writer) throws IOException {
+        ObjectWriter rowWriter = objectMapper.writerFor(BookingResponse.class);
+        long count = 0;
+        while (rows.hasNext()) {
+            writer.write(rowWriter.writeValueAsString(rows.next()));
+            writer.write('\n');
+            if (++count % FLUSH_EVERY == 0) {
+                writer.flush();
+            }
+        }
+        return count;
+    }
+
+    private long writeCsv(Iterator<BookingResponse> rows, Writer writer) throws IOException {
+        writeCsvRow(writer, (Object[]) CSV_HEADER);
+        long count = 0;
+        while (rows.hasNext()) {
+            BookingResponse row = rows.next();
+            writeCsvRow(writer,
+                    row.getId(), row.getEventDate(), row.getEventLocation(), row.getEventType(), row.getGuestCount(),
+                    row.getSpecialRequests(), row.getBudget() != null ? row.getBudget().toPlainString() : null,
+                    row.getStatus(), row.getCreatedAt(), row.getUpdatedAt(), row.getUserId(), row.getUserFullName(),
+                    row.getVendorId(), row.getVendorBusinessName());
+            if (++count % FLUSH_EVERY == 0) {
+                writer.flush();
+            }
+        }
+        return count;
+    }
+
+    // RFC 4180: fields containing a comma, quote or line break are quoted, with quotes doubled
+    private static void writeCsvRow(Writer writer, Object... values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            if (values[i] == null) {
+                continue;
+            }
+            String value = values[i].toString();
+            if (value.indexOf(',') >= 0 || value.indexOf('"') >= 0 || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0) {
+                writer.write('"');
+                writer.write(value.replace("\"", "\"\""));
+                writer.write('"');
+            } else {
+                writer.write(value);
+            }
+        }
+        writer.write("\r\n");
+    }
+}
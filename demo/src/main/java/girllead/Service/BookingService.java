@@ -1,13 +1,19 @@
 package girllead.Service;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import girllead.demo.Exception.BookingConflictException;
 import girllead.demo.Exception.ResourceNotFoundException;
+import girllead.demo.availability.VendorAvailabilityCalendar;
+import girllead.demo.availability.VendorBookingLocks;
 import girllead.demo.backendenums.BookingStatus;
 import girllead.demo.dto.BookingRequest;
 import girllead.demo.dto.BookingResponse;
+import girllead.demo.dto.CursorPage;
+import girllead.demo.dto.PageCursor;
 import girllead.demo.model.Booking;
 import girllead.demo.model.User;
 import girllead.demo.model.Vendor;
@@ -15,14 +21,19 @@ import girllead.demo.repository.BookingRepository;
 import girllead.demo.repository.UserRepository;
 import girllead.demo.repository.VendorRepository;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.function.Function;
 
 @Service
 @Transactional
 public class BookingService {
     
+    private static final int MAX_PAGE_SIZE = 100;
+    // Upper bound of a MySQL DATETIME column
+    private static final LocalDateTime LATEST_CREATED_AT = LocalDateTime.of(9999, 12, 31, 23, 59, 59);
+    
     @Autowired
     private BookingRepository bookingRepository;
     
@@ -32,18 +43,30 @@ public class BookingService {
     @Autowired
     private VendorRepository vendorRepository;
     
+    @Autowired
+    private VendorAvailabilityCalendar availabilityCalendar;
+    
+    @Autowired
+    private VendorBookingLocks vendorBookingLocks;
+    
     public BookingResponse createBooking(Long userId, BookingRequest request) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found"));
         
-        Vendor vendor = vendorRepository.findById(request.getVendorId())
-                .orElseThrow(() -> new ResourceNotFoundException("Vendor not found"));
-        
         // Validate event date is in the future
         if (request.getEventDate().isBefore(LocalDateTime.now())) {
             throw new IllegalArgumentException("Event date must be in the future");
         }
         
+        // Reject overlapping bookings from the in-memory calendar before taking any lock
+        availabilityCalendar.requireFree(request.getVendorId(), request.getEventDate());
+        
+        // Bookings for one vendor are serialized: within this JVM on a lock stripe, across nodes on the vendor row
+        vendorBookingLocks.lockUntilCompletion(request.getVendorId());
+        Vendor vendor = vendorRepository.findByIdForUpdate(request.getVendorId())
+                .orElseThrow(() -> new ResourceNotFoundException("Vendor not found"));
+        requireFreeInDatabase(vendor.getId(), request.getEventDate(), null);
+        
         // Create new booking
         Booking booking = new Booking();
         booking.setUser(user);
@@ -58,53 +81,67 @@ public class BookingService {
         booking.setCreatedAt(LocalDateTime.now());
         
         Booking savedBooking = bookingRepository.save(booking);
+        availabilityCalendar.occupy(vendor.getId(), savedBooking.getId(), savedBooking.getEventDate());
         return mapToBookingResponse(savedBooking);
     }
     
     public BookingResponse getBookingById(Long id) {
-        Booking booking = bookingRepository.findById(id)
+        return bookingRepository.findResponseById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Booking not found"));
-        return mapToBookingResponse(booking);
     }
     
-    public List<BookingResponse> getUserBookings(Long userId) {
-        List<Booking> bookings = bookingRepository.findByUserIdOrderByCreatedAtDesc(userId);
-        return bookings.stream()
-                .map(this::mapToBookingResponse)
-                .collect(Collectors.toList());
+    public CursorPage<BookingResponse> getUserBookings(Long userId, String cursor, int size) {
+        int limit = pageSize(size);
+        PageCursor after = afterCreatedAt(cursor);
+        return createdAtPage(bookingRepository.findUserPage(
+                userId, createdAtOf(after), idOf(after, Long.MAX_VALUE), Limit.of(limit + 1)), limit);
     }
     
-    public List<BookingResponse> getUserBookingsByStatus(Long userId, BookingStatus status) {
-        List<Booking> bookings = bookingRepository.findByUserIdAndStatusOrderByCreatedAtDesc(userId, status);
-        return bookings.stream()
-                .map(this::mapToBookingResponse)
-                .collect(Collectors.toList());
+    public CursorPage<BookingResponse> getUserBookingsByStatus(Long userId, BookingStatus status, String cursor, int size) {
+        int limit = pageSize(size);
+        PageCursor after = afterCreatedAt(cursor);
+        return createdAtPage(bookingRepository.findUserPageByStatus(
+                userId, status, createdAtOf(after), idOf(after, Long.MAX_VALUE), Limit.of(limit + 1)), limit);
     }
     
-    public List<BookingResponse> getVendorBookings(Long vendorId) {
-        List<Booking> bookings = bookingRepository.findByVendorIdOrderByCreatedAtDesc(vendorId);
-        return bookings.stream()
-                .map(this::mapToBookingResponse)
-                .collect(Collectors.toList());
+    public CursorPage<BookingResponse> getVendorBookings(Long vendorId, String cursor, int size) {
+        int limit = pageSize(size);
+        PageCursor after = afterCreatedAt(cursor);
+        return createdAtPage(bookingRepository.findVendorPage(
+                vendorId, createdAtOf(after), idOf(after, Long.MAX_VALUE), Limit.of(limit + 1)), limit);
     }
     
-    // Replace this method in your BookingService:
-public List<BookingResponse> getVendorBookingsByStatus(Long vendorId, BookingStatus status) {
-    // FIXED: Changed from findByUserIdAndStatusOrderByCreatedAtDesc to findByVendorIdAndStatusOrderByCreatedAtDesc
-    List<Booking> bookings = bookingRepository.findByVendorIdAndStatusOrderByCreatedAtDesc(vendorId, status);
-    return bookings.stream()
-            .map(this::mapToBookingResponse)
-            .collect(Collectors.toList());
-}
+    public CursorPage<BookingResponse> getVendorBookingsByStatus(Long vendorId, BookingStatus status, String cursor, int size) {
+        int limit = pageSize(size);
+        PageCursor after = afterCreatedAt(cursor);
+        return createdAtPage(bookingRepository.findVendorPageByStatus(
+                vendorId, status, createdAtOf(after), idOf(after, Long.MAX_VALUE), Limit.of(limit + 1)), limit);
+    }
     
     public BookingResponse updateBookingStatus(Long bookingId, BookingStatus status) {
         Booking booking = bookingRepository.findById(bookingId)
                 .orElseThrow(() -> new ResourceNotFoundException("Booking not found"));
         
+        BookingStatus previous = booking.getStatus();
+        Long vendorId = booking.getVendor().getId();
+        if (!previous.occupiesVendor() && status.occupiesVendor()) {
+            availabilityCalendar.requireFree(vendorId, booking.getEventDate(), bookingId);
+            vendorBookingLocks.lockUntilCompletion(vendorId);
+            vendorRepository.findByIdForUpdate(vendorId);
+            requireFreeInDatabase(vendorId, booking.getEventDate(), bookingId);
+        }
+        
         booking.setStatus(status);
         booking.setUpdatedAt(LocalDateTime.now());
         
         Booking updatedBooking = bookingRepository.save(booking);
+        
+        // Keep the vendor's calendar in step with the slot this booking holds
+        if (previous.occupiesVendor() && !status.occupiesVendor()) {
+            availabilityCalendar.release(vendorId, bookingId, booking.getEventDate());
+        } else if (!previous.occupiesVendor() && status.occupiesVendor()) {
+            availabilityCalendar.occupy(vendorId, bookingId, booking.getEventDate());
+        }
         return mapToBookingResponse(updatedBooking);
     }
     
@@ -120,27 +157,29 @@ public List<BookingResponse> getVendorBookingsByStatus(Long vendorId, BookingSta
         return updateBookingStatus(bookingId, BookingStatus.CANCELLED);
     }
     
-    public List<BookingResponse> getUpcomingBookings() {
-        LocalDateTime now = LocalDateTime.now();
-        List<Booking> bookings = bookingRepository.findByEventDateAfterOrderByEventDateAsc(now);
-        return bookings.stream()
-                .map(this::mapToBookingResponse)
-                .collect(Collectors.toList());
+    public CursorPage<BookingResponse> getUpcomingBookings(String cursor, int size) {
+        int limit = pageSize(size);
+        PageCursor after = afterEventDate(cursor, "asc");
+        LocalDateTime eventDate = after != null ? after.getValueAsDateTime() : LocalDateTime.now();
+        return eventDatePage(bookingRepository.findEventDatePageAfter(
+                eventDate, idOf(after, Long.MAX_VALUE), Limit.of(limit + 1)), limit, "asc");
     }
     
-    public List<BookingResponse> getPastBookings() {
-        LocalDateTime now = LocalDateTime.now();
-        List<Booking> bookings = bookingRepository.findByEventDateBeforeOrderByEventDateDesc(now);
-        return bookings.stream()
-                .map(this::mapToBookingResponse)
-                .collect(Collectors.toList());
+    public CursorPage<BookingResponse> getPastBookings(String cursor, int size) {
+        int limit = pageSize(size);
+        PageCursor after = afterEventDate(cursor, "desc");
+        LocalDateTime eventDate = after != null ? after.getValueAsDateTime() : LocalDateTime.now();
+        return eventDatePage(bookingRepository.findEventDatePageBefore(
+                eventDate, idOf(after, Long.MIN_VALUE), Limit.of(limit + 1)), limit, "desc");
     }
     
-    public List<BookingResponse> getBookingsBetweenDates(LocalDateTime startDate, LocalDateTime endDate) {
-        List<Booking> bookings = bookingRepository.findByEventDateBetweenOrderByEventDateAsc(startDate, endDate);
-        return bookings.stream()
-                .map(this::mapToBookingResponse)
-                .collect(Collectors.toList());
+    public CursorPage<BookingResponse> getBookingsBetweenDates(
+            LocalDateTime startDate, LocalDateTime endDate, String cursor, int size) {
+        int limit = pageSize(size);
+        PageCursor after = afterEventDate(cursor, "asc");
+        LocalDateTime eventDate = after != null ? after.getValueAsDateTime() : startDate;
+        return eventDatePage(bookingRepository.findEventDatePageAfterUntil(
+                eventDate, idOf(after, Long.MIN_VALUE), endDate, Limit.of(limit + 1)), limit, "asc");
     }
     
     public Long countUserBookingsByStatus(Long userId, BookingStatus status) {
@@ -151,14 +190,84 @@ public List<BookingResponse> getVendorBookingsByStatus(Long vendorId, BookingSta
         return bookingRepository.countByVendorIdAndStatus(vendorId, status);
     }
     
+    // Locking read, so it sees bookings committed by other nodes after this transaction's snapshot was taken.
+    // Anything found is added to the local calendar, which may not have seen it yet.
+    private void requireFreeInDatabase(Long vendorId, LocalDateTime start, Long excludeBookingId) {
+        Duration duration = availabilityCalendar.getBookingDuration();
+        List<Booking> overlapping = bookingRepository.findOccupyingBetweenForUpdate(
+                vendorId, VendorAvailabilityCalendar.OCCUPYING_STATUSES, start.minus(duration), start.plus(duration));
+        for (Booking other : overlapping) {
+            if (!other.getId().equals(excludeBookingId)) {
+                availabilityCalendar.record(vendorId, other.getId(), other.getEventDate());
+                throw new BookingConflictException("Vendor is already booked within " + duration + " of " + start);
+            }
+        }
+    }
+    
+    // ---- Keyset Pagination Helpers ----
+    // The first page seeks from a boundary key: the latest storable timestamp for createdAt lists,
+    // "now" for upcoming/past, and the range start for date ranges.
+    private static int pageSize(int size) {
+        return Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+    }
+    
+    private static PageCursor afterCreatedAt(String cursor) {
+        return decode(cursor, "createdAt", "desc");
+    }
+    
+    private static PageCursor afterEventDate(String cursor, String sortDir) {
+        return decode(cursor, "eventDate", sortDir);
+    }
+    
+    private static PageCursor decode(String cursor, String sortBy, String sortDir) {
+        if (cursor == null || cursor.isEmpty()) {
+            return null;
+        }
+        PageCursor after = PageCursor.decode(cursor);
+        after.requireOrdering(sortBy, sortDir);
+        if (after.getValue() == null) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        return after;
+    }
+    
+    private static LocalDateTime createdAtOf(PageCursor after) {
+        return after != null ? after.getValueAsDateTime() : LATEST_CREATED_AT;
+    }
+    
+    private static Long idOf(PageCursor after, Long firstPageId) {
+        return after != null ? after.getId() : firstPageId;
+    }
+    
+    private static CursorPage<BookingResponse> createdAtPage(List<BookingResponse> rows, int limit) {
+        return toCursorPage(rows, limit, "createdAt", "desc", BookingResponse::getCreatedAt);
+    }
+    
+    private static CursorPage<BookingResponse> eventDatePage(List<BookingResponse> rows, int limit, String sortDir) {
+        return toCursorPage(rows, limit, "eventDate", sortDir, BookingResponse::getEventDate);
+    }
+    
+    private static CursorPage<BookingResponse> toCursorPage(
+            List<BookingResponse> rows, int limit, String sortBy, String sortDir,
+            Function<BookingResponse, LocalDateTime> sortKey) {
+        
+        String nextCursor = null;
+        if (rows.size() > limit) {
+            rows = rows.subList(0, limit);
+            BookingResponse last = rows.get(limit - 1);
+            nextCursor = new PageCursor(sortBy, sortDir, sortKey.apply(last), last.getId()).encode();
+        }
+        return new CursorPage<>(rows, nextCursor, limit);
+    }
+    
     // Helper method to map Booking entity to BookingResponse DTO
     private BookingResponse mapToBookingResponse(Booking booking) {
         BookingResponse response = new BookingResponse();
         response.setId(booking.getId());
         response.setUserId(booking.getUser().getId());
-        response.setUserName(booking.getUser().getFullName());
+        response.setUserFullName(booking.getUser().getFullName());
         response.setVendorId(booking.getVendor().getId());
-        response.setVendorName(booking.getVendor().getBusinessName());
+        response.setVendorBusinessName(booking.getVendor().getBusinessName());
         response.setEventDate(booking.getEventDate());
         response.setEventLocation(booking.getEventLocation());
         response.setEventType(booking.getEventType());
@@ -12,13 +12,15 @@ import org.springframework.transaction.annotation.Transactional;
 import girllead.demo.Exception.ResourceNotFoundException;
 import girllead.demo.backendenums.BookingStatus;
 import girllead.demo.dto.ReviewRequest;
+import girllead.demo.dto.VendorRatingStats;
 import girllead.demo.model.Booking;
 import girllead.demo.model.Review;
-import girllead.demo.model.Vendor;
+import girllead.demo.rating.RatingDelta;
+import girllead.demo.rating.RatingUpdatePipeline;
 import girllead.demo.repository.BookingRepository;
 import girllead.demo.repository.ReviewRepository;
+import girllead.demo.repository.VendorRepository;
 
-import java.math.BigDecimal;
 import java.util.List;
 
 @Service
@@ -31,6 +33,12 @@ public class ReviewService {
     @Autowired
     private BookingRepository bookingRepository;
     
+    @Autowired
+    private VendorRepository vendorRepository;
+    
+    @Autowired
+    private RatingUpdatePipeline ratingUpdatePipeline;
+    
     public Review createReview(Long userId, ReviewRequest request) {
         Booking booking = bookingRepository.findById(request.getBookingId())
                 .orElseThrow(() -> new ResourceNotFoundException("Booking not found"));
@@ -60,8 +68,8 @@ public class ReviewService {
         
         Review savedReview = reviewRepository.save(review);
         
-        // Update vendor's average rating
-        updateVendorRating(booking.getVendor());
+        // Update vendor's rating aggregates
+        applyRatingDelta(booking.getVendor().getId(), RatingDelta.added(request.getRating()));
         
         return savedReview;
     }
@@ -83,7 +91,7 @@ public class ReviewService {
         
         // Update vendor rating if rating changed
         if (!oldRating.equals(request.getRating())) {
-            updateVendorRating(review.getVendor());
+            applyRatingDelta(review.getVendor().getId(), RatingDelta.changed(oldRating, request.getRating()));
         }
         
         return savedReview;
@@ -125,17 +133,10 @@ public class ReviewService {
         return reviewRepository.findReviewsWithComments(pageable);
     }
     
-    public BigDecimal getVendorAverageRating(Long vendorId) {
-        BigDecimal average = reviewRepository.findAverageRatingByVendorId(vendorId);
-        return average != null ? average : BigDecimal.ZERO;
-    }
-    
-    public long getVendorReviewCount(Long vendorId) {
-        return reviewRepository.countByVendorId(vendorId);
-    }
-    
-    public long getVendorReviewCountByRating(Long vendorId, Integer rating) {
-        return reviewRepository.countByVendorIdAndRating(vendorId, rating);
+    // Served from the aggregates kept on the vendor row
+    public VendorRatingStats getVendorRatingStats(Long vendorId) {
+        return vendorRepository.findRatingStats(vendorId)
+                .orElseThrow(() -> new ResourceNotFoundException("Vendor not found"));
     }
     
     public boolean canUserReviewBooking(Long userId, Long bookingId) {
@@ -151,22 +152,17 @@ public class ReviewService {
         Review review = reviewRepository.findById(reviewId)
                 .orElseThrow(() -> new ResourceNotFoundException("Review not found"));
         
-        Vendor vendor = review.getVendor();
+        Long vendorId = review.getVendor().getId();
+        Integer rating = review.getRating();
         reviewRepository.delete(review);
         
         // Update vendor rating after deletion
-        updateVendorRating(vendor);
+        applyRatingDelta(vendorId, RatingDelta.removed(rating));
     }
     
     // ---- Private Helper Methods ----
-    private void updateVendorRating(Vendor vendor) {
-        BigDecimal averageRating = reviewRepository.findAverageRatingByVendorId(vendor.getId());
-        long reviewCount = reviewRepository.countByVendorId(vendor.getId());
-        
-        vendor.setAverageRating(averageRating != null ? averageRating : BigDecimal.ZERO);
-        vendor.setTotalReviews((int) reviewCount);
-        
-        // Note: We don't save the vendor here as it would require VendorRepository
-        // This should be handled by the calling service or through a vendor service method
+    // Queued for RatingUpdatePipeline, which coalesces per vendor and applies it after this transaction commits
+    private void applyRatingDelta(Long vendorId, RatingDelta delta) {
+        ratingUpdatePipeline.submit(vendorId, delta);
     }
 }
@@ -1,36 +1,66 @@
 package girllead.Service;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import girllead.demo.Exception.ResourceNotFoundException;
+import girllead.demo.Security.CustomUserDetailsService;
+import girllead.demo.Security.TokenVersionRegistry;
 import girllead.demo.backendenums.UserRole;
 import girllead.demo.backendenums.VendorCategory;
+import girllead.demo.dto.CursorPage;
+import girllead.demo.dto.PageCursor;
+import girllead.demo.dto.VendorFacets;
 import girllead.demo.dto.VendorRequest;
 import girllead.demo.dto.VendorResponse;
 import girllead.demo.model.User;
 import girllead.demo.model.Vendor;
 import girllead.demo.repository.UserRepository;
 import girllead.demo.repository.VendorRepository;
+import girllead.demo.repository.VendorSpecifications;
+import girllead.demo.search.VendorFilterEngine;
+import girllead.demo.search.VendorTextIndex;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.stream.Collectors;
 
 @Service
 @Transactional
 public class VendorService {
     
+    private static final int MAX_CURSOR_PAGE_SIZE = 100;
+    private static final List<String> CURSOR_SORT_FIELDS = List.of("averageRating", "createdAt", "minPrice");
+    
     @Autowired
     private VendorRepository vendorRepository;
     
     @Autowired
     private UserRepository userRepository;
     
+    @Autowired
+    private VendorTextIndex vendorTextIndex;
+    
+    @Autowired
+    private VendorFilterEngine vendorFilterEngine;
+    
+    @Autowired
+    private TokenVersionRegistry tokenVersionRegistry;
+    
+    @Autowired
+    private CustomUserDetailsService userDetailsService;
+    
     public VendorResponse createVendorProfile(Long userId, VendorRequest request) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found"));
@@ -52,13 +82,18 @@ public class VendorService {
         vendor.setGalleryImages(request.getGalleryImages());
         vendor.setYearsOfExperience(request.getYearsOfExperience());
         vendor.setUser(user);
+        user.setVendor(vendor);
         
-        // Update user role to VENDOR
+        // Update user role to VENDOR; tokens carrying the old role stop working
         user.setRole(UserRole.VENDOR);
+        tokenVersionRegistry.bump(user);
+        userDetailsService.evict(user.getUsername());
         
         // Save vendor and user
         Vendor savedVendor = vendorRepository.save(vendor);
         userRepository.save(user);
+        vendorTextIndex.index(savedVendor);
+        vendorFilterEngine.upsert(savedVendor);
         
         return convertToResponse(savedVendor);
     }
@@ -79,6 +114,8 @@ public class VendorService {
         vendor.setYearsOfExperience(request.getYearsOfExperience());
         
         Vendor savedVendor = vendorRepository.save(vendor);
+        vendorTextIndex.index(savedVendor);
+        vendorFilterEngine.upsert(savedVendor);
         return convertToResponse(savedVendor);
     }
     
@@ -111,12 +148,119 @@ public class VendorService {
         
         Pageable pageable = PageRequest.of(page, size, sort);
         
+        if (vendorFilterEngine.isActive() && vendorFilterEngine.supportsSort(sortBy)) {
+            VendorFilterEngine.Result result = vendorFilterEngine.search(
+                    category, location, minPrice, maxPrice, minRating, page, size, sortBy, sortDir.equalsIgnoreCase("desc"));
+            List<VendorResponse> content = findAllInOrder(result.getIds()).stream()
+                    .map(this::convertToResponse)
+                    .collect(Collectors.toList());
+            return new PageImpl<>(content, pageable, result.getTotal());
+        }
+        
         Page<Vendor> vendors = vendorRepository.findVendorsWithFilters(
                 category, location, minPrice, maxPrice, minRating, pageable);
         
         return vendors.map(this::convertToResponse);
     }
     
+    // Offset paging without the COUNT(*) query; the client only learns whether a next page exists
+    public Slice<VendorResponse> searchVendorSlice(
+            VendorCategory category,
+            String location,
+            BigDecimal minPrice,
+            BigDecimal maxPrice,
+            BigDecimal minRating,
+            int page,
+            int size,
+            String sortBy,
+            String sortDir) {
+        
+        Sort sort = sortDir.equalsIgnoreCase("desc") 
+                ? Sort.by(sortBy).descending() 
+                : Sort.by(sortBy).ascending();
+        
+        Pageable pageable = PageRequest.of(page, size, sort);
+        
+        Slice<Vendor> vendors = vendorRepository.findVendorSliceWithFilters(
+                category, location, minPrice, maxPrice, minRating, pageable);
+        
+        return vendors.map(this::convertToResponse);
+    }
+    
+    // Keyset pagination: seeks past the (sortKey, id) of the previous page instead of using OFFSET,
+    // and never issues a COUNT(*)
+    public CursorPage<VendorResponse> searchVendorsByCursor(
+            VendorCategory category,
+            String location,
+            BigDecimal minPrice,
+            BigDecimal maxPrice,
+            BigDecimal minRating,
+            String cursor,
+            int size,
+            String sortBy,
+            String sortDir) {
+        
+        if (!CURSOR_SORT_FIELDS.contains(sortBy)) {
+            throw new IllegalArgumentException("Cursor pagination is not supported for sort field: " + sortBy);
+        }
+        
+        boolean descending = sortDir.equalsIgnoreCase("desc");
+        String direction = descending ? "desc" : "asc";
+        int limit = Math.max(1, Math.min(size, MAX_CURSOR_PAGE_SIZE));
+        
+        Specification<Vendor> spec = VendorSpecifications.withFilters(category, location, minPrice, maxPrice, minRating);
+        if (cursor != null && !cursor.isEmpty()) {
+            PageCursor after = PageCursor.decode(cursor);
+            after.requireOrdering(sortBy, direction);
+            spec = spec.and(seekAfter(after, descending));
+        }
+        
+        // The seek predicate treats NULL keys as the lowest value, which is how MySQL (and H2) order them. The
+        // ordering cannot say so explicitly: Spring Data rejects Sort.NullHandling for Criteria queries, and an
+        // ORDER BY on a CASE expression would stop the sort from using the keyset index.
+        Sort.Direction sortDirection = descending ? Sort.Direction.DESC : Sort.Direction.ASC;
+        Sort sort = Sort.by(sortDirection, sortBy, "id");
+        
+        List<Vendor> vendors = vendorRepository.findBy(spec, query -> query.project("user").sortBy(sort).limit(limit + 1).all());
+        
+        String nextCursor = null;
+        if (vendors.size() > limit) {
+            vendors = vendors.subList(0, limit);
+            Vendor last = vendors.get(limit - 1);
+            nextCursor = new PageCursor(sortBy, direction, sortKey(last, sortBy), last.getId()).encode();
+        }
+        
+        List<VendorResponse> content = vendors.stream()
+                .map(this::convertToResponse)
+                .collect(Collectors.toList());
+        return new CursorPage<>(content, nextCursor, limit);
+    }
+    
+    public VendorFacets getSearchFacets(
+            VendorCategory category,
+            String location,
+            BigDecimal minPrice,
+            BigDecimal maxPrice,
+            BigDecimal minRating) {
+        
+        VendorFacets facets = new VendorFacets();
+        for (Object[] row : vendorRepository.countFacetCube(location, minPrice, maxPrice, minRating)) {
+            VendorCategory rowCategory = (VendorCategory) row[0];
+            long count = ((Number) row[4]).longValue();
+            facets.addCategoryCount(rowCategory, count);
+            
+            // Histograms honour the category filter; the category facet itself does not
+            if (category == null || category == rowCategory) {
+                facets.addHistogramCounts(
+                        ((Number) row[1]).intValue(),
+                        ((Number) row[2]).intValue(),
+                        ((Number) row[3]).intValue(),
+                        count);
+            }
+        }
+        return facets;
+    }
+    
     public List<VendorResponse> getVendorsByCategory(VendorCategory category) {
         List<Vendor> vendors = vendorRepository.findByCategoryAndIsVerifiedTrueAndIsAvailableTrue(category);
         return vendors.stream()
@@ -141,7 +285,13 @@ public class VendorService {
     }
     
     public List<VendorResponse> searchVendorsByTerm(String searchTerm) {
-        List<Vendor> vendors = vendorRepository.searchVendors(searchTerm);
+        // Answer from the inverted index once it is built; fall back to the LIKE scan until then
+        List<Vendor> vendors;
+        if (vendorTextIndex.isReady() && !VendorTextIndex.tokenize(searchTerm).isEmpty()) {
+            vendors = findAllInOrder(vendorTextIndex.search(searchTerm));
+        } else {
+            vendors = vendorRepository.searchVendors(searchTerm);
+        }
         return vendors.stream()
                 .map(this::convertToResponse)
                 .collect(Collectors.toList());
@@ -153,6 +303,7 @@ public class VendorService {
         
         vendor.setIsVerified(true);
         Vendor savedVendor = vendorRepository.save(vendor);
+        vendorFilterEngine.upsert(savedVendor);
         return convertToResponse(savedVendor);
     }
     
@@ -162,6 +313,7 @@ public class VendorService {
         
         vendor.setIsAvailable(!vendor.getIsAvailable());
         Vendor savedVendor = vendorRepository.save(vendor);
+        vendorFilterEngine.upsert(savedVendor);
         return convertToResponse(savedVendor);
     }
     
@@ -173,7 +325,55 @@ public class VendorService {
         return vendorRepository.countByCategoryAndVerified(category);
     }
     
+    public Map<VendorCategory, Long> getVendorCountsByCategory() {
+        Map<VendorCategory, Long> counts = new EnumMap<>(VendorCategory.class);
+        for (VendorCategory category : VendorCategory.values()) {
+            counts.put(category, 0L);
+        }
+        for (Object[] row : vendorRepository.countVerifiedGroupByCategory()) {
+            counts.put((VendorCategory) row[0], ((Number) row[1]).longValue());
+        }
+        return counts;
+    }
+    
     // ---- Private Helper Methods ----
+    private List<Vendor> findAllInOrder(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Map<Long, Vendor> byId = vendorRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Vendor::getId, vendor -> vendor));
+        return ids.stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+    
+    private Specification<Vendor> seekAfter(PageCursor cursor, boolean descending) {
+        switch (cursor.getSortBy()) {
+            case "averageRating":
+            case "minPrice":
+                return VendorSpecifications.seekAfter(cursor.getSortBy(), descending, cursor.getValueAsBigDecimal(), cursor.getId());
+            case "createdAt":
+                return VendorSpecifications.seekAfter(cursor.getSortBy(), descending, cursor.getValueAsDateTime(), cursor.getId());
+            default:
+                throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+    
+    private Object sortKey(Vendor vendor, String sortBy) {
+        switch (sortBy) {
+            case "averageRating":
+                return vendor.getAverageRating();
+            case "minPrice":
+                return vendor.getMinPrice();
+            case "createdAt":
+                return vendor.getCreatedAt();
+            default:
+                throw new IllegalArgumentException("Cursor pagination is not supported for sort field: " + sortBy);
+        }
+    }
+    
     private VendorResponse convertToResponse(Vendor vendor) {
         VendorResponse response = new VendorResponse();
         response.setId(vendor.getId());
@@ -0,0 +1,46 @@
+package girllead.demo.Config;
+import java.lang.reflect.Method;
+
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.StaticMethodMatcherPointcut;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.stereotype.Repository;
+import org.springframework.stereotype.Service;
+import org.springframework.web.bind.annotation.RestController;
+
+import girllead.demo.metrics.MethodLatencyInterceptor;
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Configuration
+public class MetricsConfig {
+
+    // Infrastructure role so the proxy creator that already applies @Transactional picks it up; highest
+    // precedence so a service's timing includes its transaction commit
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    public static Advisor methodLatencyAdvisor(ObjectProvider<MeterRegistry> meterRegistry) {
+        StaticMethodMatcherPointcut pointcut = new StaticMethodMatcherPointcut() {
+            @Override
+            public boolean matches(Method method, Class<?> targetClass) {
+                return method.getDeclaringClass() != Object.class;
+            }
+        };
+        pointcut.setClassFilter(MetricsConfig::isTimed);
+        DefaultPointcutAdvisor advisor = new DefaultPointcutAdvisor(pointcut, new MethodLatencyInterceptor(meterRegistry));
+        advisor.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return advisor;
+    }
+
+    private static boolean isTimed(Class<?> type) {
+        return AnnotatedElementUtils.hasAnnotation(type, RestController.class)
+                || AnnotatedElementUtils.hasAnnotation(type, Service.class)
+                || AnnotatedElementUtils.hasAnnotation(type, Repository.class);
+    }
+}
@@ -22,7 +22,9 @@ import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
+import girllead.demo.Controller.VendorController;
 import girllead.demo.Security.JwtAuthenticationFilter;
+import girllead.demo.Security.PublicEndpoints;
 
 @Configuration
 public class SecurityConfig {
@@ -40,15 +42,11 @@ public class SecurityConfig {
                 .cors(cors -> cors.configurationSource(corsConfigurationSource()))
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(auth -> auth
-                        // Public endpoints
-                        //.requestMatchers("/auth/register").permitAll()
-                        .requestMatchers(HttpMethod.POST,"/auth/register").permitAll()
-                        .requestMatchers("/vendors/search", "/vendors/*/public", "/vendors/categories").permitAll()
-                        .requestMatchers(HttpMethod.POST, "/auth/register", "/auth/login").permitAll()
-                        .requestMatchers(HttpMethod.GET, "/auth/check-username").permitAll() 
-                        .requestMatchers("/health", "/error").permitAll()
-                        .requestMatchers("/favicon.ico").permitAll()
-                        .requestMatchers("/auth/**").permitAll()
+                        // Public endpoints, shared with JwtAuthenticationFilter
+                        .requestMatchers(PublicEndpoints.MATCHER).permitAll()
+                        .requestMatchers("/actuator/**").hasRole("ADMIN")
+                        // Creating a vendor profile is how a user becomes a vendor
+                        .requestMatchers(HttpMethod.POST, "/vendors/profile").authenticated()
                         .requestMatchers("/vendors/profile", "/vendors/dashboard").hasRole("VENDOR")
                         .requestMatchers("/vendors/events/**").hasRole("VENDOR")
                         .requestMatchers("/vendors/bookings/**").hasRole("VENDOR")
@@ -82,6 +80,7 @@ public class SecurityConfig {
         configuration.setAllowedOrigins(Arrays.asList("http://localhost:3000", "http://localhost:8080"));
         configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "DELETE", "OPTIONS"));
         configuration.setAllowedHeaders(Arrays.asList("*"));
+        configuration.setExposedHeaders(Arrays.asList("Authorization", VendorController.REFRESH_TOKEN_HEADER));
         configuration.setAllowCredentials(true);
         
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
@@ -0,0 +1,41 @@
+package girllead.demo.Config;
+import java.time.Duration;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import girllead.demo.sql.SqlExecutionListener;
+import net.ttddyy.dsproxy.proxy.NanoTimeStopwatchFactory;
+import net.ttddyy.dsproxy.proxy.ProxyConfig;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+
+@Configuration
+public class SqlInstrumentationConfig {
+
+    // Wraps the connection pool so every statement passes SqlExecutionListener. The proxy still unwraps to the
+    // pool, so the Hikari metrics and health checks keep working.
+    @Bean
+    public static BeanPostProcessor sqlInstrumentingDataSourcePostProcessor(
+            @Value("${eventease.sql.slow-query-threshold:PT0.5S}") Duration slowQueryThreshold) {
+        SqlExecutionListener listener = new SqlExecutionListener(slowQueryThreshold);
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource) || bean instanceof ProxyDataSource) {
+                    return bean;
+                }
+                ProxyDataSource proxy = ProxyDataSourceBuilder.create(beanName, dataSource).listener(listener).build();
+                // The default stopwatch counts whole milliseconds, which rounds most primary-key lookups to zero
+                proxy.setProxyConfig(ProxyConfig.Builder.from(proxy.getProxyConfig())
+                        .stopwatchFactory(new NanoTimeStopwatchFactory())
+                        .build());
+                return proxy;
+            }
+        };
+    }
+}
@@ -10,6 +10,7 @@ import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
@@ -18,6 +19,7 @@ import girllead.Service.AuthService;
 import girllead.demo.dto.AuthResponse;
 import girllead.demo.dto.LoginRequest;
 import girllead.demo.dto.RegisterRequest;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 
 @RestController
@@ -30,17 +32,32 @@ public class AuthController {
     
     @PostMapping("/register")
     public ResponseEntity<AuthResponse> register(@Valid @RequestBody RegisterRequest request) throws BadRequestException {
-        System.out.println("Received registration request for username: " + request.getUsername());
         AuthResponse response = authService.register(request);
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
     
     @PostMapping("/login")
-    public ResponseEntity<AuthResponse> login(@Valid @RequestBody LoginRequest request) {
-        AuthResponse response = authService.login(request);
+    public ResponseEntity<AuthResponse> login(@Valid @RequestBody LoginRequest request, HttpServletRequest httpRequest) {
+        AuthResponse response = authService.login(request, httpRequest.getRemoteAddr());
         return ResponseEntity.ok(response);
     }
     
+    @PostMapping("/refresh")
+    public ResponseEntity<AuthResponse> refresh(@RequestBody Map<String, String> request) {
+        AuthResponse response = authService.refresh(request.get("refreshToken"));
+        return ResponseEntity.ok(response);
+    }
+    
+    // /auth/** skips the JWT filter, so the access token is read from the header here
+    @PostMapping("/logout")
+    public ResponseEntity<Map<String, String>> logout(
+            @RequestHeader(value = "Authorization", required = false) String authorization,
+            @RequestBody(required = false) Map<String, String> request) {
+        String accessToken = authorization != null && authorization.startsWith("Bearer ") ? authorization.substring(7) : null;
+        authService.logout(accessToken, request != null ? request.get("refreshToken") : null);
+        return ResponseEntity.ok(Map.of("message", "Logged out successfully"));
+    }
+    
     @PostMapping("/validate-token")
     public ResponseEntity<Map<String, Object>> validateToken(@RequestBody Map<String, String> request) {
         String token = request.get("token");
@@ -56,9 +73,7 @@ public class AuthController {
     
     @GetMapping("/check-username")
     public ResponseEntity<Map<String, Object>> checkUsername(@RequestParam String username) {
-        System.out.print("Checking username: " + username);
         boolean exists = authService.usernameExists(username);
-        System.out.print("Username exists: " + exists);
         Map<String, Object> response = Map.of(
                 "exists", exists,
                 "message", exists ? "Username is already taken" : "Username is available"
@@ -3,21 +3,25 @@ package girllead.demo.Controller;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import girllead.Service.BookingExportService;
+import girllead.Service.BookingExportService.ExportFormat;
 import girllead.Service.BookingService;
-import girllead.Service.VendorService;
+import girllead.demo.Security.AuthenticatedUser;
 import girllead.demo.backendenums.BookingStatus;
+import girllead.demo.backendenums.UserRole;
 import girllead.demo.dto.BookingRequest;
 import girllead.demo.dto.BookingResponse;
-import girllead.demo.model.User;
+import girllead.demo.dto.CursorPage;
 
 import java.time.LocalDateTime;
-import java.util.List;
 import java.util.Map;
 
 @RestController
@@ -30,7 +34,7 @@ public class BookingController {
     private BookingService bookingService;
     
     @Autowired
-    private VendorService vendorService;
+    private BookingExportService bookingExportService;
     
     // User booking endpoints
     @PostMapping
@@ -38,25 +42,31 @@ public class BookingController {
             @Valid @RequestBody BookingRequest request,
             Authentication authentication) {
         
-        User user = (User) authentication.getPrincipal();
+        AuthenticatedUser user = (AuthenticatedUser) authentication.getPrincipal();
         BookingResponse booking = bookingService.createBooking(user.getId(), request);
         return ResponseEntity.status(HttpStatus.CREATED).body(booking);
     }
     
     @GetMapping("/my-bookings")
-    public ResponseEntity<List<BookingResponse>> getMyBookings(Authentication authentication) {
-        User user = (User) authentication.getPrincipal();
-        List<BookingResponse> bookings = bookingService.getUserBookings(user.getId());
+    public ResponseEntity<CursorPage<BookingResponse>> getMyBookings(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            Authentication authentication) {
+        
+        AuthenticatedUser user = (AuthenticatedUser) authentication.getPrincipal();
+        CursorPage<BookingResponse> bookings = bookingService.getUserBookings(user.getId(), cursor, size);
         return ResponseEntity.ok(bookings);
     }
     
     @GetMapping("/my-bookings/status/{status}")
-    public ResponseEntity<List<BookingResponse>> getMyBookingsByStatus(
+    public ResponseEntity<CursorPage<BookingResponse>> getMyBookingsByStatus(
             @PathVariable BookingStatus status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
             Authentication authentication) {
         
-        User user = (User) authentication.getPrincipal();
-        List<BookingResponse> bookings = bookingService.getUserBookingsByStatus(user.getId(), status);
+        AuthenticatedUser user = (AuthenticatedUser) authentication.getPrincipal();
+        CursorPage<BookingResponse> bookings = bookingService.getUserBookingsByStatus(user.getId(), status, cursor, size);
         return ResponseEntity.ok(bookings);
     }
     
@@ -75,22 +85,26 @@ public class BookingController {
     // Vendor booking endpoints
     @GetMapping("/vendor-bookings")
     @PreAuthorize("hasRole('VENDOR')")
-    public ResponseEntity<List<BookingResponse>> getVendorBookings(Authentication authentication) {
-        User user = (User) authentication.getPrincipal();
-        var vendor = vendorService.getVendorByUserId(user.getId());
-        List<BookingResponse> bookings = bookingService.getVendorBookings(vendor.getId());
+    public ResponseEntity<CursorPage<BookingResponse>> getVendorBookings(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            Authentication authentication) {
+        
+        AuthenticatedUser user = (AuthenticatedUser) authentication.getPrincipal();
+        CursorPage<BookingResponse> bookings = bookingService.getVendorBookings(user.requireVendorId(), cursor, size);
         return ResponseEntity.ok(bookings);
     }
     
     @GetMapping("/vendor-bookings/status/{status}")
     @PreAuthorize("hasRole('VENDOR')")
-    public ResponseEntity<List<BookingResponse>> getVendorBookingsByStatus(
+    public ResponseEntity<CursorPage<BookingResponse>> getVendorBookingsByStatus(
             @PathVariable BookingStatus status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
             Authentication authentication) {
         
-        User user = (User) authentication.getPrincipal();
-        var vendor = vendorService.getVendorByUserId(user.getId());
-        List<BookingResponse> bookings = bookingService.getVendorBookingsByStatus(vendor.getId(), status);
+        AuthenticatedUser user = (AuthenticatedUser) authentication.getPrincipal();
+        CursorPage<BookingResponse> bookings = bookingService.getVendorBookingsByStatus(user.requireVendorId(), status, cursor, size);
         return ResponseEntity.ok(bookings);
     }
     
@@ -119,31 +133,57 @@ public class BookingController {
         return ResponseEntity.ok(booking);
     }
     
+    // Full export for accounting: vendors get their own bookings, admins get every booking
+    @GetMapping("/export")
+    @PreAuthorize("hasRole('VENDOR') or hasRole('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> exportBookings(
+            @RequestParam(defaultValue = "ndjson") String format,
+            Authentication authentication) {
+        
+        AuthenticatedUser user = (AuthenticatedUser) authentication.getPrincipal();
+        ExportFormat exportFormat = ExportFormat.fromString(format);
+        Long vendorId = user.hasRole(UserRole.ADMIN) ? null : user.requireVendorId();
+        
+        StreamingResponseBody body = out -> bookingExportService.export(vendorId, exportFormat, out);
+        return ResponseEntity.ok()
+                .contentType(exportFormat.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"bookings." + exportFormat.getExtension() + "\"")
+                .body(body);
+    }
+    
     // Analytics and reporting endpoints
     @GetMapping("/upcoming")
-    public ResponseEntity<List<BookingResponse>> getUpcomingBookings() {
-        List<BookingResponse> bookings = bookingService.getUpcomingBookings();
+    public ResponseEntity<CursorPage<BookingResponse>> getUpcomingBookings(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        
+        CursorPage<BookingResponse> bookings = bookingService.getUpcomingBookings(cursor, size);
         return ResponseEntity.ok(bookings);
     }
     
     @GetMapping("/past")
-    public ResponseEntity<List<BookingResponse>> getPastBookings() {
-        List<BookingResponse> bookings = bookingService.getPastBookings();
+    public ResponseEntity<CursorPage<BookingResponse>> getPastBookings(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        
+        CursorPage<BookingResponse> bookings = bookingService.getPastBookings(cursor, size);
         return ResponseEntity.ok(bookings);
     }
     
     @GetMapping("/date-range")
-    public ResponseEntity<List<BookingResponse>> getBookingsByDateRange(
+    public ResponseEntity<CursorPage<BookingResponse>> getBookingsByDateRange(
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
-            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate) {
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
         
-        List<BookingResponse> bookings = bookingService.getBookingsBetweenDates(startDate, endDate);
+        CursorPage<BookingResponse> bookings = bookingService.getBookingsBetweenDates(startDate, endDate, cursor, size);
         return ResponseEntity.ok(bookings);
     }
     
     @GetMapping("/stats/user")
     public ResponseEntity<Map<String, Object>> getUserBookingStats(Authentication authentication) {
-        User user = (User) authentication.getPrincipal();
+        AuthenticatedUser user = (AuthenticatedUser) authentication.getPrincipal();
         
         Map<String, Object> stats = Map.of(
                 "totalBookings", bookingService.countUserBookingsByStatus(user.getId(), null),
@@ -159,15 +199,15 @@ public class BookingController {
     @GetMapping("/stats/vendor")
     @PreAuthorize("hasRole('VENDOR')")
     public ResponseEntity<Map<String, Object>> getVendorBookingStats(Authentication authentication) {
-        User user = (User) authentication.getPrincipal();
-        var vendor = vendorService.getVendorByUserId(user.getId());
+        AuthenticatedUser user = (AuthenticatedUser) authentication.getPrincipal();
+        Long vendorId = user.requireVendorId();
         
         Map<String, Object> stats = Map.of(
-                "totalBookings", bookingService.countVendorBookingsByStatus(vendor.getId(), null),
-                "pendingBookings", bookingService.countVendorBookingsByStatus(vendor.getId(), BookingStatus.PENDING),
-                "confirmedBookings", bookingService.countVendorBookingsByStatus(vendor.getId(), BookingStatus.CONFIRMED),
-                "completedBookings", bookingService.countVendorBookingsByStatus(vendor.getId(), BookingStatus.COMPLETED),
-                "cancelledBookings", bookingService.countVendorBookingsByStatus(vendor.getId(), BookingStatus.CANCELLED)
+                "totalBookings", bookingService.countVendorBookingsByStatus(vendorId, null),
+                "pendingBookings", bookingService.countVendorBookingsByStatus(vendorId, BookingStatus.PENDING),
+                "confirmedBookings", bookingService.countVendorBookingsByStatus(vendorId, BookingStatus.CONFIRMED),
+                "completedBookings", bookingService.countVendorBookingsByStatus(vendorId, BookingStatus.COMPLETED),
+                "cancelledBookings", bookingService.countVendorBookingsByStatus(vendorId, BookingStatus.CANCELLED)
         );
         
         return ResponseEntity.ok(stats);
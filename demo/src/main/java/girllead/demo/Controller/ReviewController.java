@@ -9,11 +9,11 @@ import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
 import girllead.Service.ReviewService;
+import girllead.demo.Security.AuthenticatedUser;
 import girllead.demo.dto.ReviewRequest;
+import girllead.demo.dto.VendorRatingStats;
 import girllead.demo.model.Review;
-import girllead.demo.model.User;
 
-import java.math.BigDecimal;
 import java.util.List;
 import java.util.Map;
 
@@ -52,20 +52,8 @@ public class ReviewController {
     }
     
     @GetMapping("/vendor/{vendorId}/stats")
-    public ResponseEntity<Map<String, Object>> getVendorReviewStats(@PathVariable Long vendorId) {
-        BigDecimal averageRating = reviewService.getVendorAverageRating(vendorId);
-        long totalReviews = reviewService.getVendorReviewCount(vendorId);
-        
-        Map<String, Object> stats = Map.of(
-                "averageRating", averageRating,
-                "totalReviews", totalReviews,
-                "fiveStarCount", reviewService.getVendorReviewCountByRating(vendorId, 5),
-                "fourStarCount", reviewService.getVendorReviewCountByRating(vendorId, 4),
-                "threeStarCount", reviewService.getVendorReviewCountByRating(vendorId, 3),
-                "twoStarCount", reviewService.getVendorReviewCountByRating(vendorId, 2),
-                "oneStarCount", reviewService.getVendorReviewCountByRating(vendorId, 1)
-        );
-        
+    public ResponseEntity<VendorRatingStats> getVendorReviewStats(@PathVariable Long vendorId) {
+        VendorRatingStats stats = reviewService.getVendorRatingStats(vendorId);
         return ResponseEntity.ok(stats);
     }
     
@@ -93,7 +81,7 @@ public class ReviewController {
             @Valid @RequestBody ReviewRequest request,
             Authentication authentication) {
         
-        User user = (User) authentication.getPrincipal();
+        AuthenticatedUser user = (AuthenticatedUser) authentication.getPrincipal();
         Review review = reviewService.createReview(user.getId(), request);
         return ResponseEntity.status(HttpStatus.CREATED).body(review);
     }
@@ -117,7 +105,7 @@ public class ReviewController {
     @GetMapping("/my-reviews")
     @PreAuthorize("isAuthenticated()")
     public ResponseEntity<List<Review>> getMyReviews(Authentication authentication) {
-        User user = (User) authentication.getPrincipal();
+        AuthenticatedUser user = (AuthenticatedUser) authentication.getPrincipal();
         List<Review> reviews = reviewService.getUserReviews(user.getId());
         return ResponseEntity.ok(reviews);
     }
@@ -135,7 +123,7 @@ public class ReviewController {
             @PathVariable Long bookingId,
             Authentication authentication) {
         
-        User user = (User) authentication.getPrincipal();
+        AuthenticatedUser user = (AuthenticatedUser) authentication.getPrincipal();
         boolean canReview = reviewService.canUserReviewBooking(user.getId(), bookingId);
         
         Map<String, Object> response = Map.of(
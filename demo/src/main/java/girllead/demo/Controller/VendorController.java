@@ -2,20 +2,26 @@ package girllead.demo.Controller;
 
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
+import girllead.Service.AuthService;
 import girllead.Service.VendorService;
+import girllead.demo.Security.AuthenticatedUser;
+import girllead.demo.availability.VendorAvailabilityCalendar;
 import girllead.demo.backendenums.VendorCategory;
+import girllead.demo.dto.AuthResponse;
+import girllead.demo.dto.VendorAvailability;
 import girllead.demo.dto.VendorRequest;
 import girllead.demo.dto.VendorResponse;
-import girllead.demo.model.User;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
@@ -27,12 +33,23 @@ import java.util.stream.Collectors;
 @CrossOrigin(origins = {"http://localhost:3000", "http://localhost:8080"})
 public class VendorController {
     
+    // Carries the refresh token that replaces the caller's outdated one after becoming a vendor
+    public static final String REFRESH_TOKEN_HEADER = "X-Refresh-Token";
+    
     @Autowired
     private VendorService vendorService;
     
+    @Autowired
+    private AuthService authService;
+    
+    @Autowired
+    private VendorAvailabilityCalendar availabilityCalendar;
+    
     // Public endpoints - no authentication required
+    // pagination=offset (default) keeps the page/size contract; includeTotal=false skips the COUNT(*).
+    // pagination=cursor returns a CursorPage; pass its nextCursor back as cursor to fetch the next page.
     @GetMapping("/search")
-    public ResponseEntity<Page<VendorResponse>> searchVendors(
+    public ResponseEntity<?> searchVendors(
             @RequestParam(required = false) VendorCategory category,
             @RequestParam(required = false) String location,
             @RequestParam(required = false) BigDecimal minPrice,
@@ -41,21 +58,44 @@ public class VendorController {
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "averageRating") String sortBy,
-            @RequestParam(defaultValue = "desc") String sortDir) {
+            @RequestParam(defaultValue = "desc") String sortDir,
+            @RequestParam(defaultValue = "offset") String pagination,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "true") boolean includeTotal,
+            @RequestParam(defaultValue = "false") boolean facets) {
         
-        Page<VendorResponse> vendors = vendorService.searchVendors(
-                category, location, minPrice, maxPrice, minRating, page, size, sortBy, sortDir);
-        return ResponseEntity.ok(vendors);
+        Object vendors;
+        if (pagination.equalsIgnoreCase("cursor")) {
+            vendors = vendorService.searchVendorsByCursor(
+                    category, location, minPrice, maxPrice, minRating, cursor, size, sortBy, sortDir);
+        } else if (!includeTotal) {
+            vendors = vendorService.searchVendorSlice(
+                    category, location, minPrice, maxPrice, minRating, page, size, sortBy, sortDir);
+        } else {
+            vendors = vendorService.searchVendors(
+                    category, location, minPrice, maxPrice, minRating, page, size, sortBy, sortDir);
+        }
+        
+        if (!facets) {
+            return ResponseEntity.ok(vendors);
+        }
+        
+        // facets=true wraps the results together with category, price and rating counts for the same filters
+        Map<String, Object> body = new HashMap<>();
+        body.put("results", vendors);
+        body.put("facets", vendorService.getSearchFacets(category, location, minPrice, maxPrice, minRating));
+        return ResponseEntity.ok(body);
     }
     
 @GetMapping("/categories")
 public ResponseEntity<List<Map<String, Object>>> getAllCategories() {
+    Map<VendorCategory, Long> counts = vendorService.getVendorCountsByCategory();
     List<Map<String, Object>> categories = Arrays.stream(VendorCategory.values())
             .map(category -> {
                 Map<String, Object> categoryMap = new HashMap<>();
                 categoryMap.put("name", category.name());
                 categoryMap.put("displayName", category.getDisplayName());
-                categoryMap.put("count", vendorService.getVendorCountByCategory(category));
+                categoryMap.put("count", counts.get(category));
                 return categoryMap;
             })
             .collect(Collectors.toList());
@@ -87,6 +127,18 @@ public ResponseEntity<List<Map<String, Object>>> getAllCategories() {
         return ResponseEntity.ok(vendor);
     }
     
+    // Free time between from and to (defaults: now and 30 days later), answered from the in-memory calendar
+    @GetMapping("/{id}/availability")
+    public ResponseEntity<VendorAvailability> getVendorAvailability(
+            @PathVariable Long id,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        
+        LocalDateTime start = from != null ? from : LocalDateTime.now();
+        LocalDateTime end = to != null ? to : start.plusDays(30);
+        return ResponseEntity.ok(availabilityCalendar.getAvailability(id, start, end));
+    }
+    
     @GetMapping("/search/text")
     public ResponseEntity<List<VendorResponse>> searchVendorsByText(@RequestParam String q) {
         List<VendorResponse> vendors = vendorService.searchVendorsByTerm(q);
@@ -100,9 +152,14 @@ public ResponseEntity<List<Map<String, Object>>> getAllCategories() {
             @Valid @RequestBody VendorRequest request,
             Authentication authentication) {
         
-        User user = (User) authentication.getPrincipal();
+        AuthenticatedUser user = (AuthenticatedUser) authentication.getPrincipal();
         VendorResponse vendor = vendorService.createVendorProfile(user.getId(), request);
-        return ResponseEntity.status(HttpStatus.CREATED).body(vendor);
+        // The caller's tokens still say USER and are now outdated, so hand back a pair carrying the VENDOR role
+        AuthResponse tokens = authService.issueTokens(user.getId());
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + tokens.getToken())
+                .header(REFRESH_TOKEN_HEADER, tokens.getRefreshToken())
+                .body(vendor);
     }
     
     @PutMapping("/profile")
@@ -111,16 +168,15 @@ public ResponseEntity<List<Map<String, Object>>> getAllCategories() {
             @Valid @RequestBody VendorRequest request,
             Authentication authentication) {
         
-        User user = (User) authentication.getPrincipal();
-        VendorResponse existingVendor = vendorService.getVendorByUserId(user.getId());
-        VendorResponse updatedVendor = vendorService.updateVendorProfile(existingVendor.getId(), request);
+        AuthenticatedUser user = (AuthenticatedUser) authentication.getPrincipal();
+        VendorResponse updatedVendor = vendorService.updateVendorProfile(user.requireVendorId(), request);
         return ResponseEntity.ok(updatedVendor);
     }
     
     @GetMapping("/profile")
     @PreAuthorize("hasRole('VENDOR')")
     public ResponseEntity<VendorResponse> getMyVendorProfile(Authentication authentication) {
-        User user = (User) authentication.getPrincipal();
+        AuthenticatedUser user = (AuthenticatedUser) authentication.getPrincipal();
         VendorResponse vendor = vendorService.getVendorByUserId(user.getId());
         return ResponseEntity.ok(vendor);
     }
@@ -128,9 +184,8 @@ public ResponseEntity<List<Map<String, Object>>> getAllCategories() {
     @PutMapping("/profile/availability")
     @PreAuthorize("hasRole('VENDOR')")
     public ResponseEntity<VendorResponse> toggleAvailability(Authentication authentication) {
-        User user = (User) authentication.getPrincipal();
-        VendorResponse vendor = vendorService.getVendorByUserId(user.getId());
-        VendorResponse updatedVendor = vendorService.toggleVendorAvailability(vendor.getId());
+        AuthenticatedUser user = (AuthenticatedUser) authentication.getPrincipal();
+        VendorResponse updatedVendor = vendorService.toggleVendorAvailability(user.requireVendorId());
         return ResponseEntity.ok(updatedVendor);
     }
     
@@ -145,7 +200,7 @@ public ResponseEntity<List<Map<String, Object>>> getAllCategories() {
     @GetMapping("/dashboard")
     @PreAuthorize("hasRole('VENDOR')")
     public ResponseEntity<Map<String, Object>> getVendorDashboard(Authentication authentication) {
-        User user = (User) authentication.getPrincipal();
+        AuthenticatedUser user = (AuthenticatedUser) authentication.getPrincipal();
         VendorResponse vendor = vendorService.getVendorByUserId(user.getId());
         
         // Create dashboard data
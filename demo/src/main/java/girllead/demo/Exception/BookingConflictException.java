@@ -0,0 +1,11 @@
+package girllead.demo.Exception;
+public class BookingConflictException extends RuntimeException {
+    
+    public BookingConflictException(String message) {
+        super(message);
+    }
+    
+    public BookingConflictException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
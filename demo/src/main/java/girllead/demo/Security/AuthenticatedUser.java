@@ -0,0 +1,90 @@
+package girllead.demo.Security;
+
+import java.security.Principal;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import girllead.demo.Exception.ResourceNotFoundException;
+import girllead.demo.backendenums.UserRole;
+import girllead.demo.model.User;
+
+// Immutable principal placed in the SecurityContext. It is rebuilt from the token's claims on every request,
+// so controllers get the caller's ID, role and vendor without loading the User entity.
+public final class AuthenticatedUser implements Principal {
+
+    private final Long id;
+    private final String username;
+    private final UserRole role;
+    private final Long vendorId;
+    private final int tokenVersion;
+    private final List<GrantedAuthority> authorities;
+
+    public AuthenticatedUser(Long id, String username, UserRole role, Long vendorId, int tokenVersion) {
+        this.id = id;
+        this.username = username;
+        this.role = role;
+        this.vendorId = vendorId;
+        this.tokenVersion = tokenVersion;
+        this.authorities = List.of(new SimpleGrantedAuthority("ROLE_" + role.name()));
+    }
+
+    // Reads the vendor association, so call it while the entity is still attached
+    public static AuthenticatedUser of(User user) {
+        Long vendorId = user.getVendor() != null ? user.getVendor().getId() : null;
+        return new AuthenticatedUser(user.getId(), user.getUsername(), user.getRole(), vendorId, user.getTokenVersion());
+    }
+
+    // ---- Getters ----
+    public Long getId() {
+        return id;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    @Override
+    public String getName() {
+        return username;
+    }
+
+    public UserRole getRole() {
+        return role;
+    }
+
+    public Long getVendorId() {
+        return vendorId;
+    }
+
+    public Long requireVendorId() {
+        if (vendorId == null) {
+            throw new ResourceNotFoundException("Vendor not found");
+        }
+        return vendorId;
+    }
+
+    public int getTokenVersion() {
+        return tokenVersion;
+    }
+
+    public Collection<GrantedAuthority> getAuthorities() {
+        return authorities;
+    }
+
+    public boolean hasRole(UserRole role) {
+        return this.role == role;
+    }
+
+    @Override
+    public String toString() {
+        return "AuthenticatedUser{" +
+                "id=" + id +
+                ", username='" + username + '\'' +
+                ", role=" + role +
+                ", vendorId=" + vendorId +
+                '}';
+    }
+}
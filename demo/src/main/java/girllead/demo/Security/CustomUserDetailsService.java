@@ -1,25 +1,68 @@
 package girllead.demo.Security;
 
+import java.time.Duration;
+
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 
-import girllead.demo.model.User;
 import girllead.demo.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 
 @Service
 public class CustomUserDetailsService implements UserDetailsService {
-    
+
     @Autowired
     private UserRepository userRepository;
-    
+
+    // Size-bounded (Caffeine's frequency-aware eviction) with a TTL as a backstop for changes made outside this
+    // service, e.g. directly in the database. Unknown usernames are not cached.
+    private final Cache<String, UserSnapshot> users;
+
+    public CustomUserDetailsService(
+            @Value("${eventease.security.user-cache.max-size:10000}") long maxSize,
+            @Value("${eventease.security.user-cache.ttl:PT5M}") Duration ttl,
+            MeterRegistry meterRegistry) {
+        this.users = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, users, "userDetails");
+    }
+
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        User user = userRepository.findByUsername(username)
+        UserSnapshot cached = users.getIfPresent(username);
+        if (cached != null) {
+            return cached;
+        }
+        UserSnapshot user = userRepository.findSnapshotByUsername(username)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found with username: " + username));
-        
-        return user; // User entity implements UserDetails
+        users.put(username, user);
+        return user;
+    }
+
+    // Call whenever a user's password, role, active flag or vendor changes. The entry is dropped now and again
+    // after commit, so a request that read the old row mid-transaction cannot leave a stale copy behind.
+    public void evict(String username) {
+        users.invalidate(username);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    users.invalidate(username);
+                }
+            });
+        }
     }
-}
\ No newline at end of file
+}
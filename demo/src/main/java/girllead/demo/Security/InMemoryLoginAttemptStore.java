@@ -0,0 +1,125 @@
+package girllead.demo.Security;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+// Sliding-window failure counts kept per key in a bounded Caffeine map. Keys idle for two windows carry no
+// weight any more and are dropped, and the size cap bounds memory when an attacker sprays random usernames.
+// Each window is approximated from two fixed buckets: previous * (unelapsed share of the current bucket) + current.
+@Component
+public class InMemoryLoginAttemptStore implements LoginAttemptStore {
+
+    private final long windowMillis;
+    private final Cache<String, SlidingWindowCounter> counters;
+
+    public InMemoryLoginAttemptStore(
+            @Value("${eventease.security.login-throttle.window:PT15M}") Duration window,
+            @Value("${eventease.security.login-throttle.max-keys:100000}") long maxKeys) {
+        this.windowMillis = window.toMillis();
+        this.counters = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterAccess(window.multipliedBy(2))
+                .build();
+    }
+
+    @Override
+    public double recordFailure(String key, Instant now) {
+        long nowMillis = now.toEpochMilli();
+        return counters.get(key, k -> new SlidingWindowCounter(nowMillis / windowMillis)).increment(nowMillis, windowMillis);
+    }
+
+    @Override
+    public double failures(String key, Instant now) {
+        SlidingWindowCounter counter = counters.getIfPresent(key);
+        return counter != null ? counter.estimate(now.toEpochMilli(), windowMillis) : 0;
+    }
+
+    @Override
+    public long millisUntilBelow(String key, double limit, Instant now) {
+        SlidingWindowCounter counter = counters.getIfPresent(key);
+        return counter != null ? counter.millisUntilBelow(limit, now.toEpochMilli(), windowMillis) : 0;
+    }
+
+    @Override
+    public void reset(String key) {
+        counters.invalidate(key);
+    }
+
+    // Lock-free: bucket index, previous count and current count packed into one long and updated by CAS.
+    // Layout is [bucket index: 32 bits][previous: 16 bits][current: 16 bits]; counts saturate at 65535.
+    static final class SlidingWindowCounter {
+
+        private static final long COUNT_MASK = 0xFFFFL;
+
+        private final AtomicLong state;
+
+        SlidingWindowCounter(long bucket) {
+            this.state = new AtomicLong((bucket & 0xFFFFFFFFL) << 32);
+        }
+
+        double increment(long nowMillis, long windowMillis) {
+            long bucket = nowMillis / windowMillis;
+            while (true) {
+                long current = state.get();
+                long rolled = roll(current, bucket);
+                long count = rolled & COUNT_MASK;
+                long next = count < COUNT_MASK ? rolled + 1 : rolled;
+                if (state.compareAndSet(current, next)) {
+                    return estimate(next, nowMillis, windowMillis);
+                }
+            }
+        }
+
+        double estimate(long nowMillis, long windowMillis) {
+            return estimate(roll(state.get(), nowMillis / windowMillis), nowMillis, windowMillis);
+        }
+
+        // The estimate only decays while the previous bucket's weight runs out. If the current bucket alone is at
+        // the limit, nothing changes until it becomes the previous bucket at the next boundary and decays from there.
+        long millisUntilBelow(double limit, long nowMillis, long windowMillis) {
+            long packed = roll(state.get(), nowMillis / windowMillis);
+            long elapsed = Math.floorMod(nowMillis, windowMillis);
+            long previous = (packed >>> 16) & COUNT_MASK;
+            long current = packed & COUNT_MASK;
+            if (estimate(packed, nowMillis, windowMillis) < limit) {
+                return 0;
+            }
+            if (current >= limit) {
+                return windowMillis - elapsed + millisUntilDecayedBelow(limit, current, windowMillis);
+            }
+            long belowAt = millisUntilDecayedBelow(limit - current, previous, windowMillis);
+            return Math.max(1, Math.min(belowAt, windowMillis) - elapsed);
+        }
+
+        // Offset into a bucket at which previous * (unelapsed share) first drops strictly below limit
+        private static long millisUntilDecayedBelow(double limit, long previous, long windowMillis) {
+            return windowMillis - (long) Math.ceil(limit * windowMillis / previous) + 1;
+        }
+
+        private static double estimate(long packed, long nowMillis, long windowMillis) {
+            double unelapsed = 1.0 - (double) Math.floorMod(nowMillis, windowMillis) / windowMillis;
+            long previous = (packed >>> 16) & COUNT_MASK;
+            long current = packed & COUNT_MASK;
+            return previous * unelapsed + current;
+        }
+
+        // Moves the packed state forward to `bucket`; a clock that steps backwards stays in the stored bucket
+        private static long roll(long packed, long bucket) {
+            long stored = packed >>> 32;
+            long target = bucket & 0xFFFFFFFFL;
+            long age = (target - stored) & 0xFFFFFFFFL;
+            if (age == 0 || age > 0x7FFFFFFFL) {
+                return packed;
+            }
+            long previous = age == 1 ? packed & COUNT_MASK : 0;
+            return (target << 32) | (previous << 16);
+        }
+    }
+}
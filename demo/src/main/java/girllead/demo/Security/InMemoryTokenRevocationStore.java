@@ -0,0 +1,45 @@
+package girllead.demo.Security;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+// Revoked token IDs, each dropped at its token's expiry. There is deliberately no size cap: evicting an entry
+// early would make a revoked token valid again. Its size is bounded by revocations per token lifetime instead.
+@Component
+public class InMemoryTokenRevocationStore implements TokenRevocationStore {
+
+    private final Cache<String, Instant> revoked;
+
+    public InMemoryTokenRevocationStore(MeterRegistry meterRegistry) {
+        this.revoked = Caffeine.newBuilder()
+                .expireAfter(Expiry.creating((String tokenId, Instant expiresAt) ->
+                        Duration.between(Instant.now(), expiresAt)))
+                .build();
+        Gauge.builder("eventease.security.revoked.tokens", revoked, Cache::estimatedSize)
+                .description("Revoked tokens that have not yet expired")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public boolean revoke(String tokenId, Instant expiresAt) {
+        if (tokenId == null) {
+            return false;
+        }
+        // An already-expired token cannot be used anyway, so there is nothing to remember
+        return !expiresAt.isAfter(Instant.now()) || revoked.asMap().putIfAbsent(tokenId, expiresAt) == null;
+    }
+
+    @Override
+    public boolean isRevoked(String tokenId) {
+        return tokenId != null && revoked.getIfPresent(tokenId) != null;
+    }
+}
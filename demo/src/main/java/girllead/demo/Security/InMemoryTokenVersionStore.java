@@ -0,0 +1,33 @@
+package girllead.demo.Security;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+// Token versions per user, each dropped one token lifetime after it was written. Like the revocation store
+// there is no size cap, since evicting an entry early would make the tokens it invalidates valid again.
+@Component
+public class InMemoryTokenVersionStore implements TokenVersionStore {
+
+    private final Cache<Long, Integer> versions;
+
+    public InMemoryTokenVersionStore(@Value("${jwt.expiration}") long jwtExpiration) {
+        this.versions = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMillis(jwtExpiration))
+                .build();
+    }
+
+    @Override
+    public void publish(Long userId, int version) {
+        versions.asMap().merge(userId, version, Math::max);
+    }
+
+    @Override
+    public Integer currentVersion(Long userId) {
+        return versions.getIfPresent(userId);
+    }
+}
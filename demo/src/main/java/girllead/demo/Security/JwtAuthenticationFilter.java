@@ -1,10 +1,9 @@
 package girllead.demo.Security;
 
 import java.io.IOException;
-import java.util.Arrays;
-import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -28,16 +27,15 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     @Autowired
     private UserDetailsService userDetailsService;
     
-    // Define public paths that should skip JWT processing
-    private static final List<String> PUBLIC_PATHS = Arrays.asList(
-            "/auth/login",
-            "/auth/register", 
-            "/auth/refresh",
-            "/vendors/search",
-            "/vendors/categories",
-            "/health",
-            "/error"
-    );
+    @Autowired
+    private TokenVersionRegistry tokenVersionRegistry;
+    
+    @Autowired
+    private TokenRevocationStore tokenRevocationStore;
+    
+    // When false every request re-reads the user through UserDetailsService instead of trusting the token's claims
+    @Value("${jwt.stateless-auth:true}")
+    private boolean statelessAuth;
     
     @Override
     protected void doFilterInternal(
@@ -45,16 +43,14 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             @NonNull HttpServletResponse response,
             @NonNull FilterChain filterChain) throws ServletException, IOException {
         
-        String requestPath = request.getRequestURI();
-        
         // Skip JWT processing for public paths
-        if (isPublicPath(requestPath)) {
+        if (PublicEndpoints.MATCHER.matches(request)) {
             filterChain.doFilter(request, response);
             return;
         }
         
         final String authHeader = request.getHeader("Authorization");
-        final String jwt;
+        final ParsedToken jwt;
         final String username;
         
         // If no Authorization header or doesn't start with Bearer, continue with filter chain
@@ -64,19 +60,26 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
         
         try {
-            jwt = authHeader.substring(7);
-            username = jwtService.extractUsername(jwt);
+            // Signature and expiry are verified once here; everything below reads the parsed claims
+            jwt = jwtService.parse(authHeader.substring(7));
+            username = jwt.getSubject();
+            
+            // Refresh tokens are only accepted by /auth/refresh; revoked tokens are rejected from memory
+            boolean usable = !jwt.isRefreshToken() && !tokenRevocationStore.isRevoked(jwt.getId());
             
             // If username is extracted and no authentication exists in context
-            if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+            if (usable && username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+                AuthenticatedUser principal = statelessAuth ? jwtService.toPrincipal(jwt) : null;
+                if (principal == null) {
+                    principal = loadPrincipal(jwt);
+                }
                 
-                // If token is valid, set authentication
-                if (jwtService.isTokenValid(jwt, userDetails)) {
+                // Tokens issued before the user's last role or status change are rejected
+                if (principal != null && tokenVersionRegistry.isCurrent(principal.getId(), principal.getTokenVersion())) {
                     UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                            userDetails,
+                            principal,
                             null,
-                            userDetails.getAuthorities()
+                            principal.getAuthorities()
                     );
                     authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                     SecurityContextHolder.getContext().setAuthentication(authToken);
@@ -90,11 +93,14 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
     
-    private boolean isPublicPath(String requestPath) {
-        return PUBLIC_PATHS.stream().anyMatch(publicPath -> 
-            requestPath.equals(publicPath) || 
-            (publicPath.endsWith("/**") && requestPath.startsWith(publicPath.replace("/**", ""))) ||
-            requestPath.matches(publicPath.replace("*", ".*"))
-        );
+    // Server-side check for tokens without identity claims, or every token when stateless auth is disabled
+    private AuthenticatedUser loadPrincipal(ParsedToken jwt) {
+        UserDetails userDetails = userDetailsService.loadUserByUsername(jwt.getSubject());
+        if (!(userDetails instanceof UserSnapshot user) || !user.isEnabled() || !jwtService.isTokenValid(jwt, user)) {
+            return null;
+        }
+        AuthenticatedUser current = user.toPrincipal();
+        Integer tokenVersion = jwt.getClaim(JwtService.VERSION_CLAIM, Integer.class);
+        return (tokenVersion != null ? tokenVersion : 0) >= current.getTokenVersion() ? current : null;
     }
-}
\ No newline at end of file
+}
@@ -1,31 +1,92 @@
 package girllead.demo.Security;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.MalformedJwtException;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
+import girllead.demo.backendenums.UserRole;
+import girllead.demo.model.User;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
 import javax.crypto.SecretKey;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.UUID;
 import java.util.function.Function;
 
 @Service
 public class JwtService {
     
+    // Custom claims that let JwtAuthenticationFilter build the principal without a database lookup
+    public static final String USER_ID_CLAIM = "uid";
+    public static final String ROLE_CLAIM = "role";
+    public static final String VENDOR_ID_CLAIM = "vid";
+    public static final String VERSION_CLAIM = "ver";
+    // Refresh tokens are marked so they can only be exchanged at /auth/refresh, never used as access tokens
+    public static final String TOKEN_TYPE_CLAIM = "typ";
+    public static final String REFRESH_TOKEN_TYPE = "refresh";
+    
     @Value("${jwt.secret}")
     private String secretKey;
     
     @Value("${jwt.expiration}")
     private long jwtExpiration;
     
+    @Value("${jwt.refresh-expiration:1209600000}")
+    private long refreshExpiration;
+    
+    @Value("${jwt.verified-cache.max-size:10000}")
+    private long verifiedCacheSize;
+    
+    // Built once; SecretKey and JwtParser are immutable and thread-safe
+    private SecretKey signInKey;
+    private JwtParser parser;
+    
+    // Tokens verified recently, keyed by the SHA-256 of the compact token and dropped when the token expires
+    private Cache<ByteBuffer, ParsedToken> verifiedTokens;
+    
+    @PostConstruct
+    void init() {
+        signInKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(secretKey));
+        parser = Jwts.parser().verifyWith(signInKey).build();
+        verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(verifiedCacheSize)
+                .expireAfter(Expiry.creating((ByteBuffer digest, ParsedToken token) ->
+                        Duration.between(Instant.now(), token.getExpiresAt())))
+                .build();
+    }
+    
+    // Verifies the signature and expiry once; repeat calls with the same token are served from the cache
+    public ParsedToken parse(String token) {
+        ByteBuffer digest = digest(token);
+        ParsedToken cached = verifiedTokens.getIfPresent(digest);
+        if (cached != null && !cached.isExpired()) {
+            return cached;
+        }
+        ParsedToken parsed = new ParsedToken(extractAllClaims(token));
+        verifiedTokens.put(digest, parsed);
+        return parsed;
+    }
+    
     public String extractUsername(String token) {
-        return extractClaim(token, Claims::getSubject);
+        return parse(token).getSubject();
     }
     
     public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
@@ -37,57 +98,93 @@ public class JwtService {
         return generateToken(new HashMap<>(), userDetails);
     }
     
+    public String generateToken(User user) {
+        return generateToken(AuthenticatedUser.of(user));
+    }
+    
+    public String generateToken(AuthenticatedUser user) {
+        return buildToken(identityClaims(user), user.getUsername(), jwtExpiration);
+    }
+    
+    public String generateRefreshToken(User user) {
+        Map<String, Object> claims = identityClaims(AuthenticatedUser.of(user));
+        claims.put(TOKEN_TYPE_CLAIM, REFRESH_TOKEN_TYPE);
+        return buildToken(claims, user.getUsername(), refreshExpiration);
+    }
+    
     public String generateToken(Map<String, Object> extraClaims, UserDetails userDetails) {
-        return buildToken(extraClaims, userDetails, jwtExpiration);
+        return buildToken(extraClaims, userDetails.getUsername(), jwtExpiration);
     }
     
     public long getExpirationTime() {
         return jwtExpiration;
     }
     
+    public long getRefreshExpirationTime() {
+        return refreshExpiration;
+    }
+    
     private String buildToken(
             Map<String, Object> extraClaims,
-            UserDetails userDetails,
+            String subject,
             long expiration
     ) {
         return Jwts
                 .builder()
                 .claims(extraClaims)
-                .subject(userDetails.getUsername())
+                .subject(subject)
+                .id(UUID.randomUUID().toString())
                 .issuedAt(new Date(System.currentTimeMillis()))
                 .expiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(getSignInKey())
+                .signWith(signInKey)
                 .compact();
     }
     
+    // Null for tokens issued before the identity claims existed; those still need a user lookup
+    public AuthenticatedUser toPrincipal(ParsedToken token) {
+        Long userId = token.getClaim(USER_ID_CLAIM, Long.class);
+        String role = token.getClaim(ROLE_CLAIM, String.class);
+        if (userId == null || role == null) {
+            return null;
+        }
+        Integer version = token.getClaim(VERSION_CLAIM, Integer.class);
+        return new AuthenticatedUser(userId, token.getSubject(), UserRole.fromString(role),
+                token.getClaim(VENDOR_ID_CLAIM, Long.class), version != null ? version : 0);
+    }
+    
     public boolean isTokenValid(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername())) && !isTokenExpired(token);
+        return isTokenValid(parse(token), userDetails);
     }
     
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    public boolean isTokenValid(ParsedToken token, UserDetails userDetails) {
+        return token.getSubject().equals(userDetails.getUsername()) && !token.isExpired();
     }
     
-    private Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+    private static Map<String, Object> identityClaims(AuthenticatedUser user) {
+        Map<String, Object> claims = new HashMap<>();
+        claims.put(USER_ID_CLAIM, user.getId());
+        claims.put(ROLE_CLAIM, user.getRole().name());
+        if (user.getVendorId() != null) {
+            claims.put(VENDOR_ID_CLAIM, user.getVendorId());
+        }
+        claims.put(VERSION_CLAIM, user.getTokenVersion());
+        return claims;
     }
     
+    // Parser failures propagate as the JwtException subtype that describes them (expired, bad signature, ...)
     private Claims extractAllClaims(String token) {
-        try {
-            return Jwts
-                    .parser()
-                    .verifyWith(getSignInKey())
-                    .build()
-                    .parseSignedClaims(token)
-                    .getPayload();
-        } catch (JwtException e) {
-            throw new RuntimeException("Invalid JWT token", e);
+        Claims claims = parser.parseSignedClaims(token).getPayload();
+        if (claims.getExpiration() == null) {
+            throw new MalformedJwtException("Invalid JWT token: missing expiration");
         }
+        return claims;
     }
     
-    private SecretKey getSignInKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(secretKey);
-        return Keys.hmacShaKeyFor(keyBytes);
+    private static ByteBuffer digest(String token) {
+        try {
+            return ByteBuffer.wrap(MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
     }
-}
\ No newline at end of file
+}
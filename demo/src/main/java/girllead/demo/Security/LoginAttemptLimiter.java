@@ -0,0 +1,87 @@
+package girllead.demo.Security;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Locale;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import girllead.demo.Exception.TooManyRequestsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+// Brute-force protection for /auth/login. Failed logins are counted per username (a guessing attack on one
+// account) and per client IP (credential stuffing across many accounts); once either count reaches its
+// limit within the sliding window, further attempts are refused before they reach BCrypt or the database.
+@Component
+public class LoginAttemptLimiter {
+
+    @Autowired
+    private LoginAttemptStore store;
+
+    @Value("${eventease.security.login-throttle.max-failures-per-username:5}")
+    private int maxFailuresPerUsername;
+
+    @Value("${eventease.security.login-throttle.max-failures-per-ip:20}")
+    private int maxFailuresPerIp;
+
+    private final Counter throttledByUsername;
+    private final Counter throttledByIp;
+
+    public LoginAttemptLimiter(MeterRegistry meterRegistry) {
+        this.throttledByUsername = throttledCounter(meterRegistry, "username");
+        this.throttledByIp = throttledCounter(meterRegistry, "ip");
+    }
+
+    public void checkAllowed(String username, String clientIp) {
+        Instant now = Instant.now();
+        String usernameKey = usernameKey(username);
+        if (store.failures(usernameKey, now) >= maxFailuresPerUsername) {
+            throttledByUsername.increment();
+            throw throttled(usernameKey, maxFailuresPerUsername, now);
+        }
+        String ipKey = ipKey(clientIp);
+        if (ipKey != null && store.failures(ipKey, now) >= maxFailuresPerIp) {
+            throttledByIp.increment();
+            throw throttled(ipKey, maxFailuresPerIp, now);
+        }
+    }
+
+    public void recordFailure(String username, String clientIp) {
+        Instant now = Instant.now();
+        store.recordFailure(usernameKey(username), now);
+        String ipKey = ipKey(clientIp);
+        if (ipKey != null) {
+            store.recordFailure(ipKey, now);
+        }
+    }
+
+    // A correct password clears the account's count; the IP's count is left alone so one valid account
+    // cannot be used to reset a stuffing run from the same address
+    public void recordSuccess(String username) {
+        store.reset(usernameKey(username));
+    }
+
+    // ---- Private Helper Methods ----
+    private TooManyRequestsException throttled(String key, int limit, Instant now) {
+        Duration retryAfter = Duration.ofMillis(store.millisUntilBelow(key, limit, now));
+        return new TooManyRequestsException("Too many failed login attempts, please try again later", retryAfter);
+    }
+
+    private static String usernameKey(String username) {
+        return "user:" + username.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static String ipKey(String clientIp) {
+        return clientIp != null && !clientIp.isEmpty() ? "ip:" + clientIp : null;
+    }
+
+    private static Counter throttledCounter(MeterRegistry meterRegistry, String key) {
+        return Counter.builder("eventease.security.login.throttled")
+                .description("Login attempts refused by the brute-force limiter")
+                .tag("key", key)
+                .register(meterRegistry);
+    }
+}
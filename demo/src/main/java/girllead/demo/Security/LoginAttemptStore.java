@@ -0,0 +1,18 @@
+package girllead.demo.Security;
+
+import java.time.Instant;
+
+// Backend for LoginAttemptLimiter. The in-memory implementation only sees one node; a deployment behind a load
+// balancer can register a shared implementation (e.g. Redis INCR with expiry) as a @Primary bean instead.
+public interface LoginAttemptStore {
+
+    // Records a failed attempt and returns the failures in the sliding window ending at now, including this one
+    double recordFailure(String key, Instant now);
+
+    double failures(String key, Instant now);
+
+    // Time until the failures in the window fall below limit, i.e. until a retry would no longer be refused
+    long millisUntilBelow(String key, double limit, Instant now);
+
+    void reset(String key);
+}
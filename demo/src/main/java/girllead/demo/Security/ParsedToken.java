@@ -0,0 +1,47 @@
+package girllead.demo.Security;
+
+import java.time.Instant;
+
+import io.jsonwebtoken.Claims;
+
+// A token whose signature has already been verified. Claims are read from here instead of re-parsing the
+// compact string, so a request pays for at most one HMAC check.
+public final class ParsedToken {
+
+    private final Claims claims;
+    private final Instant expiresAt;
+
+    ParsedToken(Claims claims) {
+        this.claims = claims;
+        this.expiresAt = claims.getExpiration().toInstant();
+    }
+
+    // The jti claim; what TokenRevocationStore records
+    public String getId() {
+        return claims.getId();
+    }
+
+    public boolean isRefreshToken() {
+        return JwtService.REFRESH_TOKEN_TYPE.equals(claims.get(JwtService.TOKEN_TYPE_CLAIM, String.class));
+    }
+
+    public String getSubject() {
+        return claims.getSubject();
+    }
+
+    public Instant getIssuedAt() {
+        return claims.getIssuedAt() != null ? claims.getIssuedAt().toInstant() : null;
+    }
+
+    public Instant getExpiresAt() {
+        return expiresAt;
+    }
+
+    public boolean isExpired() {
+        return !expiresAt.isAfter(Instant.now());
+    }
+
+    public <T> T getClaim(String name, Class<T> type) {
+        return claims.get(name, type);
+    }
+}
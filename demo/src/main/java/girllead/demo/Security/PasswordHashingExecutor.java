@@ -0,0 +1,133 @@
+package girllead.demo.Security;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import girllead.demo.Exception.TooManyRequestsException;
+import girllead.demo.sql.SqlRequestStats;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+
+// Runs BCrypt work on a small fixed pool so a login storm can use at most `threads` cores, leaving the rest
+// for search and booking traffic. Callers wait for their result; once `queue-capacity` tasks are waiting,
+// further logins and registrations are rejected straight away with 429 instead of piling up.
+@Component
+public class PasswordHashingExecutor {
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    private final ThreadPoolExecutor executor;
+    private final Duration maxWait;
+    private final Timer queueWait;
+    private final Timer encodeTimer;
+    private final Timer verifyTimer;
+    private final Counter rejected;
+
+    public PasswordHashingExecutor(
+            @Value("${eventease.security.password-hashing.threads:0}") int threads,
+            @Value("${eventease.security.password-hashing.queue-capacity:64}") int queueCapacity,
+            @Value("${eventease.security.password-hashing.max-wait:PT5S}") Duration maxWait,
+            MeterRegistry meterRegistry) {
+        // 0 means half the available cores, but at least one
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("password-hash-");
+        threadFactory.setDaemon(true);
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), threadFactory, new ThreadPoolExecutor.AbortPolicy());
+        this.maxWait = maxWait;
+        this.queueWait = Timer.builder("eventease.security.password.queue.wait")
+                .description("Time password hashing tasks spend queued before a worker picks them up")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        this.encodeTimer = hashTimer(meterRegistry, "encode");
+        this.verifyTimer = hashTimer(meterRegistry, "verify");
+        this.rejected = Counter.builder("eventease.security.password.rejected")
+                .description("Password hashing requests rejected because the executor was saturated")
+                .register(meterRegistry);
+        Gauge.builder("eventease.security.password.queue.depth", executor, e -> e.getQueue().size())
+                .description("Password hashing tasks waiting for a worker")
+                .register(meterRegistry);
+    }
+
+    public String encode(CharSequence rawPassword) {
+        return submit(encodeTimer, () -> passwordEncoder.encode(rawPassword));
+    }
+
+    // For work that verifies a password internally, e.g. AuthenticationManager.authenticate. Its timer covers
+    // all of that work, not just the BCrypt comparison
+    public <T> T verify(Supplier<T> verification) {
+        return submit(verifyTimer, verification);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    // ---- Private Helper Methods ----
+    private <T> T submit(Timer timer, Supplier<T> work) {
+        long queuedAt = System.nanoTime();
+        // The user lookup inside a password check belongs to the request that asked for it
+        SqlRequestStats requestStats = SqlRequestStats.current();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                queueWait.record(System.nanoTime() - queuedAt, TimeUnit.NANOSECONDS);
+                return SqlRequestStats.callWith(requestStats, () -> timer.record(work));
+            });
+        } catch (RejectedExecutionException e) {
+            throw reject();
+        }
+        try {
+            return future.get(maxWait.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException | CancellationException e) {
+            future.cancel(true);
+            throw reject();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw reject();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException("Password hashing failed", cause);
+        }
+    }
+
+    private TooManyRequestsException reject() {
+        rejected.increment();
+        return new TooManyRequestsException("Too many sign-in attempts in progress, please retry shortly", maxWait);
+    }
+
+    private static Timer hashTimer(MeterRegistry meterRegistry, String operation) {
+        return Timer.builder("eventease.security.password.hash")
+                .description("Time a worker spends on a password task: the BCrypt hash for encode, the whole "
+                        + "authentication including the user lookup for verify")
+                .tag("operation", operation)
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+    }
+}
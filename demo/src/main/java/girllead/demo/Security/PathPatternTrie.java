@@ -0,0 +1,160 @@
+package girllead.demo.Security;
+
+import java.util.Arrays;
+
+import org.springframework.http.HttpMethod;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+// Ant-style path patterns compiled into a trie of path segments. Supports literal segments, "*" for exactly one
+// segment and a trailing "**" for zero or more segments, optionally restricted to HTTP methods.
+// Matching walks the request path once, comparing segments in place, so it allocates nothing per request.
+// Build it fully before sharing it between threads; it is not modified afterwards.
+public final class PathPatternTrie implements RequestMatcher {
+
+    private static final String[] NO_SEGMENTS = new String[0];
+    private static final Node[] NO_CHILDREN = new Node[0];
+
+    private final Node root = new Node();
+
+    public PathPatternTrie add(String... patterns) {
+        for (String pattern : patterns) {
+            insert(pattern, null);
+        }
+        return this;
+    }
+
+    public PathPatternTrie add(HttpMethod method, String... patterns) {
+        for (String pattern : patterns) {
+            insert(pattern, method.name());
+        }
+        return this;
+    }
+
+    @Override
+    public boolean matches(HttpServletRequest request) {
+        String path = request.getRequestURI();
+        String contextPath = request.getContextPath();
+        if (contextPath != null && !contextPath.isEmpty()) {
+            path = path.substring(contextPath.length());
+        }
+        return matches(request.getMethod(), path);
+    }
+
+    public boolean matches(String method, String path) {
+        return path != null && !path.isEmpty() && path.charAt(0) == '/' && matches(root, method, path, 0);
+    }
+
+    // ---- Private Helper Methods ----
+    private void insert(String pattern, String method) {
+        if (pattern == null || !pattern.startsWith("/")) {
+            throw new IllegalArgumentException("Path pattern must start with '/': " + pattern);
+        }
+        String[] segments = pattern.substring(1).split("/", -1);
+        Node node = root;
+        for (int i = 0; i < segments.length; i++) {
+            String segment = segments[i];
+            if (segment.equals("**")) {
+                if (i != segments.length - 1) {
+                    throw new IllegalArgumentException("'**' is only supported as the last segment: " + pattern);
+                }
+                node.rest = Methods.allow(node.rest, method);
+                return;
+            }
+            node = segment.equals("*") ? node.wildcard() : node.literal(segment);
+        }
+        node.end = Methods.allow(node.end, method);
+    }
+
+    // pos is the index of the '/' that starts the next segment, or path.length() once every segment is consumed
+    private static boolean matches(Node node, String method, String path, int pos) {
+        if (Methods.allows(node.rest, method)) {
+            return true;
+        }
+        if (pos == path.length()) {
+            return Methods.allows(node.end, method);
+        }
+        int start = pos + 1;
+        int end = path.indexOf('/', start);
+        if (end < 0) {
+            end = path.length();
+        }
+        int length = end - start;
+        for (int i = 0; i < node.segments.length; i++) {
+            String segment = node.segments[i];
+            if (segment.length() == length && path.regionMatches(start, segment, 0, length)
+                    && matches(node.children[i], method, path, end)) {
+                return true;
+            }
+        }
+        return node.wildcard != null && length > 0 && matches(node.wildcard, method, path, end);
+    }
+
+    private static final class Node {
+
+        private String[] segments = NO_SEGMENTS;
+        private Node[] children = NO_CHILDREN;
+        private Node wildcard;
+        private Methods end;
+        private Methods rest;
+
+        Node literal(String segment) {
+            for (int i = 0; i < segments.length; i++) {
+                if (segments[i].equals(segment)) {
+                    return children[i];
+                }
+            }
+            Node child = new Node();
+            segments = Arrays.copyOf(segments, segments.length + 1);
+            children = Arrays.copyOf(children, children.length + 1);
+            segments[segments.length - 1] = segment;
+            children[children.length - 1] = child;
+            return child;
+        }
+
+        Node wildcard() {
+            if (wildcard == null) {
+                wildcard = new Node();
+            }
+            return wildcard;
+        }
+    }
+
+    // HTTP methods a pattern applies to; null names mean any method
+    private static final class Methods {
+
+        private final boolean any;
+        private final String[] names;
+
+        private Methods(boolean any, String[] names) {
+            this.any = any;
+            this.names = names;
+        }
+
+        static Methods allow(Methods current, String method) {
+            if (method == null || (current != null && current.any)) {
+                return new Methods(true, NO_SEGMENTS);
+            }
+            String[] names = current == null ? NO_SEGMENTS : current.names;
+            String[] extended = Arrays.copyOf(names, names.length + 1);
+            extended[names.length] = method;
+            return new Methods(false, extended);
+        }
+
+        static boolean allows(Methods methods, String method) {
+            if (methods == null) {
+                return false;
+            }
+            if (methods.any) {
+                return true;
+            }
+            for (String name : methods.names) {
+                if (name.equals(method)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
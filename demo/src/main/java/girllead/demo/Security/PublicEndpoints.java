@@ -0,0 +1,16 @@
+package girllead.demo.Security;
+
+import org.springframework.http.HttpMethod;
+
+// The one list of endpoints reachable without a token. SecurityConfig permits exactly these and
+// JwtAuthenticationFilter skips token processing for exactly these, so the two cannot drift apart.
+public final class PublicEndpoints {
+
+    public static final PathPatternTrie MATCHER = new PathPatternTrie()
+            .add("/auth/**")
+            .add("/health", "/error", "/favicon.ico", "/actuator/health")
+            .add(HttpMethod.GET, "/vendors/search", "/vendors/categories", "/vendors/*/public", "/vendors/*/availability");
+
+    private PublicEndpoints() {
+    }
+}
@@ -0,0 +1,15 @@
+package girllead.demo.Security;
+
+import java.time.Instant;
+
+// Token IDs (jti) that must no longer be accepted. An entry is only needed until the token itself expires,
+// so implementations drop it then. The in-memory implementation only sees one node; a multi-node deployment
+// can register a shared implementation (e.g. Redis SET with PXAT) as a @Primary bean instead.
+public interface TokenRevocationStore {
+
+    // True if this call revoked the token, false if it was already revoked; refresh rotation relies on this
+    // being atomic so that one refresh token cannot be exchanged twice
+    boolean revoke(String tokenId, Instant expiresAt);
+
+    boolean isRevoked(String tokenId);
+}
@@ -0,0 +1,41 @@
+package girllead.demo.Security;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import girllead.demo.model.User;
+
+// Current token version of every user whose version changed recently. Tokens only carry the version they were
+// issued with, so the filter compares against the TokenVersionStore instead of reading the users table.
+// With the default in-memory store a bump only takes effect on the node that made it; see TokenVersionStore.
+@Component
+public class TokenVersionRegistry {
+
+    @Autowired
+    private TokenVersionStore store;
+
+    // Invalidates every token issued to the user so far; published once the surrounding transaction commits
+    public int bump(User user) {
+        int next = user.getTokenVersion() + 1;
+        user.setTokenVersion(next);
+        Long userId = user.getId();
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            store.publish(userId, next);
+            return next;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                store.publish(userId, next);
+            }
+        });
+        return next;
+    }
+
+    public boolean isCurrent(Long userId, int tokenVersion) {
+        Integer current = store.currentVersion(userId);
+        return current == null || tokenVersion >= current;
+    }
+}
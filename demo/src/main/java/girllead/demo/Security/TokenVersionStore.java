@@ -0,0 +1,14 @@
+package girllead.demo.Security;
+
+// Backend for TokenVersionRegistry. The in-memory implementation only sees one node: a version bumped on
+// another node is not seen here, so that node's stale tokens stay usable until they expire. A multi-node
+// deployment can register a shared implementation (e.g. a Redis hash with per-field expiry) as a @Primary bean.
+public interface TokenVersionStore {
+
+    // Records the user's new version, keeping the higher one if a newer version was already stored.
+    // It only has to be remembered until every token issued before it has expired.
+    void publish(Long userId, int version);
+
+    // Null if the user's version has not changed within the last token lifetime
+    Integer currentVersion(Long userId);
+}
@@ -0,0 +1,89 @@
+package girllead.demo.Security;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import girllead.demo.backendenums.UserRole;
+
+// Detached, immutable copy of the fields Spring Security needs from a User row. Safe to cache and share
+// between threads because it holds no entity, proxy or persistence context reference.
+public final class UserSnapshot implements UserDetails {
+
+    private final Long id;
+    private final String username;
+    private final String password;
+    private final UserRole role;
+    private final Long vendorId;
+    private final int tokenVersion;
+    private final boolean enabled;
+    private final List<GrantedAuthority> authorities;
+
+    // Used by the UserRepository constructor expression
+    public UserSnapshot(Long id, String username, String password, UserRole role, Long vendorId,
+                        Integer tokenVersion, Boolean enabled) {
+        this.id = id;
+        this.username = username;
+        this.password = password;
+        this.role = role;
+        this.vendorId = vendorId;
+        this.tokenVersion = tokenVersion != null ? tokenVersion : 0;
+        this.enabled = enabled == null || enabled;
+        this.authorities = List.of(new SimpleGrantedAuthority("ROLE_" + role.name()));
+    }
+
+    public AuthenticatedUser toPrincipal() {
+        return new AuthenticatedUser(id, username, role, vendorId, tokenVersion);
+    }
+
+    // ---- UserDetails Implementation ----
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return authorities;
+    }
+
+    @Override
+    public String getPassword() {
+        return password;
+    }
+
+    @Override
+    public String getUsername() {
+        return username;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // ---- Getters ----
+    public Long getId() {
+        return id;
+    }
+
+    public UserRole getRole() {
+        return role;
+    }
+
+    public Long getVendorId() {
+        return vendorId;
+    }
+
+    public int getTokenVersion() {
+        return tokenVersion;
+    }
+
+    @Override
+    public String toString() {
+        return "UserSnapshot{" +
+                "id=" + id +
+                ", username='" + username + '\'' +
+                ", role=" + role +
+                ", enabled=" + enabled +
+                '}';
+    }
+}
@@ -0,0 +1,243 @@
+package girllead.demo.availability;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import girllead.demo.Exception.BookingConflictException;
+import girllead.demo.Exception.ResourceNotFoundException;
+import girllead.demo.backendenums.BookingStatus;
+import girllead.demo.dto.VendorAvailability;
+import girllead.demo.dto.VendorAvailability.TimeSlot;
+import girllead.demo.repository.BookingRepository;
+import girllead.demo.repository.VendorRepository;
+
+// In-memory calendar of the slots held by each vendor's pending and confirmed bookings.
+// A booking has no end time, so it occupies [eventDate, eventDate + booking duration). Because every slot has
+// the same length, two bookings overlap exactly when their start times are less than one duration apart,
+// which makes a conflict check a single range probe on a sorted set of start times.
+// A vendor's schedule is loaded from the database on first use and kept current by BookingService. Schedules are
+// held in a bounded cache: BookingService re-checks under the vendor's row lock, so a dropped schedule only
+// costs a reload, never a double booking.
+@Component
+public class VendorAvailabilityCalendar {
+
+    public static final Set<BookingStatus> OCCUPYING_STATUSES = EnumSet.copyOf(
+            Arrays.stream(BookingStatus.values()).filter(BookingStatus::occupiesVendor).toList());
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private VendorRepository vendorRepository;
+
+    @Value("${eventease.booking.duration:PT8H}")
+    private Duration bookingDuration;
+
+    private final Cache<Long, VendorSchedule> schedules;
+
+    public VendorAvailabilityCalendar(
+            @Value("${eventease.booking.calendar.max-vendors:10000}") long maxVendors,
+            @Value("${eventease.booking.calendar.expire-after-access:PT1H}") Duration expireAfterAccess) {
+        this.schedules = Caffeine.newBuilder()
+                .maximumSize(maxVendors)
+                .expireAfterAccess(expireAfterAccess)
+                .build();
+    }
+
+    public Duration getBookingDuration() {
+        return bookingDuration;
+    }
+
+    // ---- Booking Lifecycle ----
+    public void requireFree(Long vendorId, LocalDateTime start) {
+        requireFree(vendorId, start, null);
+    }
+
+    // excludeBookingId lets a cancelled booking be re-activated without clashing with itself
+    public void requireFree(Long vendorId, LocalDateTime start, Long excludeBookingId) {
+        if (scheduleFor(vendorId).overlaps(start, excludeBookingId)) {
+            throw new BookingConflictException("Vendor is already booked within " + bookingDuration + " of " + start);
+        }
+    }
+
+    // Takes effect immediately so concurrent bookings see the slot as taken; undone if the transaction rolls back
+    public void occupy(Long vendorId, Long bookingId, LocalDateTime start) {
+        VendorSchedule schedule = scheduleFor(vendorId);
+        Slot slot = new Slot(start, bookingId);
+        schedule.add(slot);
+        onRollback(() -> schedule.remove(slot));
+    }
+
+    // For bookings already committed elsewhere, e.g. by another node
+    public void record(Long vendorId, Long bookingId, LocalDateTime start) {
+        scheduleFor(vendorId).add(new Slot(start, bookingId));
+    }
+
+    // Takes effect once the transaction commits, so a rolled-back cancellation never frees the slot
+    public void release(Long vendorId, Long bookingId, LocalDateTime start) {
+        afterCommit(() -> {
+            VendorSchedule schedule = schedules.getIfPresent(vendorId);
+            if (schedule != null) {
+                schedule.remove(new Slot(start, bookingId));
+            }
+        });
+    }
+
+    // ---- Queries ----
+    public VendorAvailability getAvailability(Long vendorId, LocalDateTime from, LocalDateTime to) {
+        if (!from.isBefore(to)) {
+            throw new IllegalArgumentException("'from' must be before 'to'");
+        }
+        VendorAvailability availability = new VendorAvailability(vendorId, from, to, bookingDuration);
+        scheduleFor(vendorId).collectFreeSlots(from, to, availability);
+        return availability;
+    }
+
+    // ---- Private Helper Methods ----
+    // Loaded outside the cache's compute so the query never blocks other vendors' entries. When two threads
+    // race, the first schedule stored wins and the other load is discarded.
+    private VendorSchedule scheduleFor(Long vendorId) {
+        VendorSchedule schedule = schedules.getIfPresent(vendorId);
+        if (schedule != null) {
+            return schedule;
+        }
+        VendorSchedule loaded = load(vendorId);
+        VendorSchedule existing = schedules.asMap().putIfAbsent(vendorId, loaded);
+        return existing != null ? existing : loaded;
+    }
+
+    // Bookings that ended before now can never conflict with a new booking, so they are not loaded
+    private VendorSchedule load(Long vendorId) {
+        VendorSchedule schedule = new VendorSchedule();
+        LocalDateTime after = LocalDateTime.now().minus(bookingDuration);
+        for (Object[] row : bookingRepository.findOccupiedSlots(vendorId, OCCUPYING_STATUSES, after)) {
+            schedule.add(new Slot((LocalDateTime) row[1], (Long) row[0]));
+        }
+        if (schedule.isEmpty() && !vendorRepository.existsById(vendorId)) {
+            throw new ResourceNotFoundException("Vendor not found");
+        }
+        return schedule;
+    }
+
+    private static void onRollback(Runnable undo) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    undo.run();
+                }
+            }
+        });
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private final class VendorSchedule {
+
+        private final NavigableSet<Slot> slots = new TreeSet<>();
+
+        // Slots that ended in the past are pruned as new ones are added
+        synchronized void add(Slot slot) {
+            LocalDateTime expired = LocalDateTime.now().minus(bookingDuration);
+            slots.headSet(new Slot(expired, Long.MIN_VALUE), false).clear();
+            slots.add(slot);
+        }
+
+        synchronized void remove(Slot slot) {
+            slots.remove(slot);
+        }
+
+        synchronized boolean isEmpty() {
+            return slots.isEmpty();
+        }
+
+        // Any slot starting strictly inside (start - duration, start + duration) overlaps
+        synchronized boolean overlaps(LocalDateTime start, Long excludeBookingId) {
+            for (Slot slot : slotsStartingBetween(start.minus(bookingDuration), start.plus(bookingDuration))) {
+                if (!slot.bookingId.equals(excludeBookingId)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        synchronized void collectFreeSlots(LocalDateTime from, LocalDateTime to, VendorAvailability availability) {
+            LocalDateTime cursor = from;
+            for (Slot slot : slotsStartingBetween(from.minus(bookingDuration), to)) {
+                if (slot.start.isAfter(cursor)) {
+                    availability.getFreeSlots().add(new TimeSlot(cursor, slot.start));
+                }
+                LocalDateTime end = slot.start.plus(bookingDuration);
+                if (end.isAfter(cursor)) {
+                    cursor = end;
+                }
+            }
+            if (cursor.isBefore(to)) {
+                availability.getFreeSlots().add(new TimeSlot(cursor, to));
+            }
+        }
+
+        // Slots whose start lies in the open interval (after, before)
+        private NavigableSet<Slot> slotsStartingBetween(LocalDateTime after, LocalDateTime before) {
+            return slots.subSet(new Slot(after, Long.MAX_VALUE), false, new Slot(before, Long.MIN_VALUE), false);
+        }
+    }
+
+    private static final class Slot implements Comparable<Slot> {
+
+        private final LocalDateTime start;
+        private final Long bookingId;
+
+        Slot(LocalDateTime start, Long bookingId) {
+            this.start = start;
+            this.bookingId = bookingId;
+        }
+
+        @Override
+        public int compareTo(Slot other) {
+            int byStart = start.compareTo(other.start);
+            return byStart != 0 ? byStart : bookingId.compareTo(other.bookingId);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Slot)) return false;
+            Slot slot = (Slot) o;
+            return start.equals(slot.start) && bookingId.equals(slot.bookingId);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * start.hashCode() + bookingId.hashCode();
+        }
+    }
+}
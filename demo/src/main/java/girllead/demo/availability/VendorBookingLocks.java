@@ -0,0 +1,53 @@
+package girllead.demo.availability;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+// Fixed pool of locks shared out by vendor ID. Bookings for the same vendor queue on one stripe while bookings
+// for different vendors almost always take different stripes, so there is no global lock and no per-vendor
+// lock map to grow or evict.
+@Component
+public class VendorBookingLocks {
+
+    private final ReentrantLock[] stripes;
+    private final int mask;
+
+    public VendorBookingLocks(@Value("${eventease.booking.lock-stripes:64}") int stripeCount) {
+        int size = Integer.highestOneBit(Math.max(1, stripeCount - 1)) << 1;
+        this.stripes = new ReentrantLock[size];
+        for (int i = 0; i < size; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+        this.mask = size - 1;
+    }
+
+    // Held until the surrounding transaction completes, so the next booking for the vendor sees this one committed
+    public void lockUntilCompletion(Long vendorId) {
+        ReentrantLock lock = stripeFor(vendorId);
+        lock.lock();
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw releaseAndFail(lock);
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                lock.unlock();
+            }
+        });
+    }
+
+    // ---- Private Helper Methods ----
+    private ReentrantLock stripeFor(Long vendorId) {
+        long h = vendorId * 0x9E3779B97F4A7C15L;
+        return stripes[(int) (h ^ (h >>> 32)) & mask];
+    }
+
+    private static IllegalStateException releaseAndFail(ReentrantLock lock) {
+        lock.unlock();
+        return new IllegalStateException("Vendor booking locks must be taken inside a transaction");
+    }
+}
@@ -17,6 +17,11 @@ public enum BookingStatus {
         return displayName;
     }
     
+    // Pending and confirmed bookings hold the vendor's time slot
+    public boolean occupiesVendor() {
+        return this == PENDING || this == CONFIRMED;
+    }
+    
     public static BookingStatus fromString(String statusStr) {
         for (BookingStatus status : BookingStatus.values()) {
             if (status.name().equalsIgnoreCase(statusStr)) {
@@ -6,6 +6,8 @@ public class AuthResponse {
     
     private String token;
     private String tokenType = "Bearer";
+    private long expiresIn; // Access token lifetime in seconds
+    private String refreshToken;
     private Long userId;
     private String username;
     private String email;
@@ -48,6 +50,22 @@ public class AuthResponse {
         this.tokenType = tokenType;
     }
     
+    public long getExpiresIn() {
+        return expiresIn;
+    }
+    
+    public void setExpiresIn(long expiresIn) {
+        this.expiresIn = expiresIn;
+    }
+    
+    public String getRefreshToken() {
+        return refreshToken;
+    }
+    
+    public void setRefreshToken(String refreshToken) {
+        this.refreshToken = refreshToken;
+    }
+    
     public Long getUserId() {
         return userId;
     }
@@ -109,6 +127,7 @@ public class AuthResponse {
     public String toString() {
         return "AuthResponse{" +
                 "tokenType='" + tokenType + '\'' +
+                ", expiresIn=" + expiresIn +
                 ", userId=" + userId +
                 ", username='" + username + '\'' +
                 ", email='" + email + '\'' +
@@ -2,6 +2,7 @@ package girllead.demo.dto;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
+import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.Future;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotNull;
@@ -26,6 +27,13 @@ public class BookingRequest {
     
     private String specialRequirements;
     
+    private String eventType;
+    
+    private String specialRequests;
+    
+    @DecimalMin(value = "0.0", message = "Budget must be non-negative")
+    private BigDecimal budget;
+    
     // ---- Constructors ----
     public BookingRequest() {}
     
@@ -91,6 +99,30 @@ public class BookingRequest {
         this.specialRequirements = specialRequirements;
     }
     
+    public String getEventType() {
+        return eventType;
+    }
+    
+    public void setEventType(String eventType) {
+        this.eventType = eventType;
+    }
+    
+    public String getSpecialRequests() {
+        return specialRequests;
+    }
+    
+    public void setSpecialRequests(String specialRequests) {
+        this.specialRequests = specialRequests;
+    }
+    
+    public BigDecimal getBudget() {
+        return budget;
+    }
+    
+    public void setBudget(BigDecimal budget) {
+        this.budget = budget;
+    }
+    
     @Override
     public String toString() {
         return "BookingRequest{" +
@@ -101,19 +133,4 @@ public class BookingRequest {
                 ", totalPrice=" + totalPrice +
                 '}';
     }
-
-    public Object getEventType() {
-        // TODO Auto-generated method stub
-        throw new UnsupportedOperationException("Unimplemented method 'getEventType'");
-    }
-
-    public Object getSpecialRequests() {
-        // TODO Auto-generated method stub
-        throw new UnsupportedOperationException("Unimplemented method 'getSpecialRequests'");
-    }
-
-    public Object getBudget() {
-        // TODO Auto-generated method stub
-        throw new UnsupportedOperationException("Unimplemented method 'getBudget'");
-    }
-}
\ No newline at end of file
+}
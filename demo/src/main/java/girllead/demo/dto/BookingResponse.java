@@ -4,6 +4,7 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 import girllead.demo.backendenums.BookingStatus;
+import girllead.demo.model.User;
 
 public class BookingResponse {
     
@@ -17,6 +18,10 @@ public class BookingResponse {
     private String specialRequirements;
     private LocalDateTime bookingDate;
     private LocalDateTime updatedAt;
+    private LocalDateTime createdAt;
+    private String eventType;
+    private String specialRequests;
+    private BigDecimal budget;
     
     // User information
     private Long userId;
@@ -42,6 +47,26 @@ public class BookingResponse {
         this.status = status;
     }
     
+    // Used by the JPQL constructor expressions in BookingRepository; selects only what list responses need
+    public BookingResponse(Long id, LocalDateTime eventDate, String eventLocation, String eventType,
+                           Integer guestCount, String specialRequests, BigDecimal budget, BookingStatus status,
+                           LocalDateTime createdAt, LocalDateTime updatedAt,
+                           Long userId, String userFirstName, String userLastName, String username,
+                           Long vendorId, String vendorBusinessName) {
+        this(id, eventDate, status);
+        this.eventLocation = eventLocation;
+        this.eventType = eventType;
+        this.guestCount = guestCount;
+        this.specialRequests = specialRequests;
+        this.budget = budget;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+        this.userId = userId;
+        this.userFullName = User.fullNameOf(userFirstName, userLastName, username);
+        this.vendorId = vendorId;
+        this.vendorBusinessName = vendorBusinessName;
+    }
+    
     // ---- Getters and Setters ----
     public Long getId() {
         return id;
@@ -123,6 +148,38 @@ public class BookingResponse {
         this.updatedAt = updatedAt;
     }
     
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+    
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+    
+    public String getEventType() {
+        return eventType;
+    }
+    
+    public void setEventType(String eventType) {
+        this.eventType = eventType;
+    }
+    
+    public String getSpecialRequests() {
+        return specialRequests;
+    }
+    
+    public void setSpecialRequests(String specialRequests) {
+        this.specialRequests = specialRequests;
+    }
+    
+    public BigDecimal getBudget() {
+        return budget;
+    }
+    
+    public void setBudget(BigDecimal budget) {
+        this.budget = budget;
+    }
+    
     public Long getUserId() {
         return userId;
     }
@@ -207,34 +264,4 @@ public class BookingResponse {
                 ", userFullName='" + userFullName + '\'' +
                 '}';
     }
-
-    public void setUserName(String fullName) {
-        // TODO Auto-generated method stub
-        throw new UnsupportedOperationException("Unimplemented method 'setUserName'");
-    }
-
-    public void setVendorName(String businessName) {
-        // TODO Auto-generated method stub
-        throw new UnsupportedOperationException("Unimplemented method 'setVendorName'");
-    }
-
-    public void setSpecialRequests(Object specialRequests) {
-        // TODO Auto-generated method stub
-        throw new UnsupportedOperationException("Unimplemented method 'setSpecialRequests'");
-    }
-
-    public void setEventType(Object eventType) {
-        // TODO Auto-generated method stub
-        throw new UnsupportedOperationException("Unimplemented method 'setEventType'");
-    }
-
-    public void setBudget(Object budget) {
-        // TODO Auto-generated method stub
-        throw new UnsupportedOperationException("Unimplemented method 'setBudget'");
-    }
-
-    public void setCreatedAt(Object createdAt) {
-        // TODO Auto-generated method stub
-        throw new UnsupportedOperationException("Unimplemented method 'setCreatedAt'");
-    }
 }
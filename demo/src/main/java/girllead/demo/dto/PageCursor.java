@@ -0,0 +1,93 @@
+package girllead.demo.dto;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+// Opaque continuation token for keyset pagination: the sort key and id of the last row returned.
+// The sort field and direction are encoded too so a token cannot be replayed against another ordering.
+public class PageCursor {
+
+    private static final String SEPARATOR = "|";
+
+    private final String sortBy;
+    private final String sortDir;
+    private final String value;
+    private final Long id;
+
+    // ---- Constructors ----
+    public PageCursor(String sortBy, String sortDir, Object value, Long id) {
+        this.sortBy = sortBy;
+        this.sortDir = sortDir;
+        this.value = value != null ? stringValue(value) : null;
+        this.id = id;
+    }
+
+    // ---- Encoding ----
+    public String encode() {
+        String raw = sortBy + SEPARATOR + sortDir + SEPARATOR + (value != null ? value : "") + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static PageCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\" + SEPARATOR, -1);
+            if (parts.length != 4) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return new PageCursor(parts[0], parts[1], parts[2].isEmpty() ? null : parts[2], Long.valueOf(parts[3]));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+
+    public void requireOrdering(String expectedSortBy, String expectedSortDir) {
+        if (!sortBy.equals(expectedSortBy) || !sortDir.equalsIgnoreCase(expectedSortDir)) {
+            throw new IllegalArgumentException("Cursor does not match the requested sort order");
+        }
+    }
+
+    // ---- Getters ----
+    public String getSortBy() {
+        return sortBy;
+    }
+
+    public String getSortDir() {
+        return sortDir;
+    }
+
+    public String getValue() {
+        return value;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public BigDecimal getValueAsBigDecimal() {
+        try {
+            return value != null ? new BigDecimal(value) : null;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+
+    public LocalDateTime getValueAsDateTime() {
+        try {
+            return value != null ? LocalDateTime.parse(value) : null;
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+
+    // ---- Private Helper Methods ----
+    private static String stringValue(Object value) {
+        if (value instanceof BigDecimal) {
+            return ((BigDecimal) value).toPlainString();
+        }
+        return value.toString();
+    }
+}
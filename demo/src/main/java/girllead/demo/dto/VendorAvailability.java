@@ -0,0 +1,83 @@
+package girllead.demo.dto;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+public class VendorAvailability {
+
+    private Long vendorId;
+    private LocalDateTime from;
+    private LocalDateTime to;
+    private Duration bookingDuration;
+    private List<TimeSlot> freeSlots = new ArrayList<>();
+
+    // ---- Constructors ----
+    public VendorAvailability() {}
+
+    public VendorAvailability(Long vendorId, LocalDateTime from, LocalDateTime to, Duration bookingDuration) {
+        this.vendorId = vendorId;
+        this.from = from;
+        this.to = to;
+        this.bookingDuration = bookingDuration;
+    }
+
+    // ---- Getters and Setters ----
+    public Long getVendorId() {
+        return vendorId;
+    }
+
+    public void setVendorId(Long vendorId) {
+        this.vendorId = vendorId;
+    }
+
+    public LocalDateTime getFrom() {
+        return from;
+    }
+
+    public void setFrom(LocalDateTime from) {
+        this.from = from;
+    }
+
+    public LocalDateTime getTo() {
+        return to;
+    }
+
+    public void setTo(LocalDateTime to) {
+        this.to = to;
+    }
+
+    public Duration getBookingDuration() {
+        return bookingDuration;
+    }
+
+    public void setBookingDuration(Duration bookingDuration) {
+        this.bookingDuration = bookingDuration;
+    }
+
+    public List<TimeSlot> getFreeSlots() {
+        return freeSlots;
+    }
+
+    public void setFreeSlots(List<TimeSlot> freeSlots) {
+        this.freeSlots = freeSlots;
+    }
+
+    public static class TimeSlot {
+        private LocalDateTime start;
+        private LocalDateTime end;
+
+        public TimeSlot(LocalDateTime start, LocalDateTime end) {
+            this.start = start;
+            this.end = end;
+        }
+
+        // Getters and setters
+        public LocalDateTime getStart() { return start; }
+        public void setStart(LocalDateTime start) { this.start = start; }
+
+        public LocalDateTime getEnd() { return end; }
+        public void setEnd(LocalDateTime end) { this.end = end; }
+    }
+}
@@ -0,0 +1,121 @@
+package girllead.demo.dto;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import girllead.demo.backendenums.VendorCategory;
+
+// Facet counts for a vendor search. Bucket i covers [EDGES[i-1], EDGES[i]); the last bucket is open-ended.
+// The edges must stay in sync with the CASE expressions in VendorRepository.countFacetCube.
+public class VendorFacets {
+
+    public static final BigDecimal[] PRICE_EDGES = {
+            new BigDecimal("100"), new BigDecimal("500"), new BigDecimal("1000"), new BigDecimal("5000")
+    };
+    public static final BigDecimal[] RATING_EDGES = {
+            new BigDecimal("1"), new BigDecimal("2"), new BigDecimal("3"), new BigDecimal("4")
+    };
+
+    private Map<VendorCategory, Long> categories = new LinkedHashMap<>();
+    private List<FacetBucket> minPrice;
+    private List<FacetBucket> maxPrice;
+    private List<FacetBucket> rating;
+
+    // ---- Constructors ----
+    public VendorFacets() {
+        for (VendorCategory category : VendorCategory.values()) {
+            categories.put(category, 0L);
+        }
+        this.minPrice = emptyBuckets(PRICE_EDGES);
+        this.maxPrice = emptyBuckets(PRICE_EDGES);
+        this.rating = emptyBuckets(RATING_EDGES);
+    }
+
+    // ---- Accumulation ----
+    public void addCategoryCount(VendorCategory category, long count) {
+        categories.merge(category, count, Long::sum);
+    }
+
+    // A bucket index of -1 means the value was NULL and is not counted in the histogram
+    public void addHistogramCounts(int minPriceBucket, int maxPriceBucket, int ratingBucket, long count) {
+        addToBucket(minPrice, minPriceBucket, count);
+        addToBucket(maxPrice, maxPriceBucket, count);
+        addToBucket(rating, ratingBucket, count);
+    }
+
+    // ---- Getters and Setters ----
+    public Map<VendorCategory, Long> getCategories() {
+        return categories;
+    }
+
+    public void setCategories(Map<VendorCategory, Long> categories) {
+        this.categories = categories;
+    }
+
+    public List<FacetBucket> getMinPrice() {
+        return minPrice;
+    }
+
+    public void setMinPrice(List<FacetBucket> minPrice) {
+        this.minPrice = minPrice;
+    }
+
+    public List<FacetBucket> getMaxPrice() {
+        return maxPrice;
+    }
+
+    public void setMaxPrice(List<FacetBucket> maxPrice) {
+        this.maxPrice = maxPrice;
+    }
+
+    public List<FacetBucket> getRating() {
+        return rating;
+    }
+
+    public void setRating(List<FacetBucket> rating) {
+        this.rating = rating;
+    }
+
+    // ---- Private Helper Methods ----
+    private static List<FacetBucket> emptyBuckets(BigDecimal[] edges) {
+        List<FacetBucket> buckets = new ArrayList<>();
+        BigDecimal from = BigDecimal.ZERO;
+        for (BigDecimal edge : edges) {
+            buckets.add(new FacetBucket(from, edge));
+            from = edge;
+        }
+        buckets.add(new FacetBucket(from, null));
+        return buckets;
+    }
+
+    private static void addToBucket(List<FacetBucket> buckets, int index, long count) {
+        if (index >= 0 && index < buckets.size()) {
+            FacetBucket bucket = buckets.get(index);
+            bucket.setCount(bucket.getCount() + count);
+        }
+    }
+
+    public static class FacetBucket {
+        private BigDecimal from;
+        private BigDecimal to;
+        private long count;
+
+        public FacetBucket(BigDecimal from, BigDecimal to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        // Getters and setters
+        public BigDecimal getFrom() { return from; }
+        public void setFrom(BigDecimal from) { this.from = from; }
+
+        public BigDecimal getTo() { return to; }
+        public void setTo(BigDecimal to) { this.to = to; }
+
+        public long getCount() { return count; }
+        public void setCount(long count) { this.count = count; }
+    }
+}
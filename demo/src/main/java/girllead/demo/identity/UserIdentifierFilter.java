@@ -0,0 +1,131 @@
+package girllead.demo.identity;
+
+import java.util.Locale;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import girllead.demo.repository.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+// Bloom filters over every registered username and email, loaded at startup and fed by AuthService.register.
+// The registration form checks availability on each keystroke; a "definitely not taken" answer comes from
+// memory and only possible matches are confirmed against the users table.
+// Usernames are compared case-insensitively here because MySQL's default collation does the same.
+@Component
+public class UserIdentifierFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(UserIdentifierFilter.class);
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private final BloomFilter usernames;
+    private final BloomFilter emails;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Counter definitelyAbsent;
+    private final Counter possiblyPresent;
+    private volatile boolean loaded = false;
+
+    public UserIdentifierFilter(
+            @Value("${eventease.auth.identifier-filter.expected-users:1000000}") long expectedUsers,
+            @Value("${eventease.auth.identifier-filter.false-positive-rate:0.01}") double falsePositiveRate,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry) {
+        this.usernames = new BloomFilter(expectedUsers, falsePositiveRate);
+        this.emails = new BloomFilter(expectedUsers, falsePositiveRate);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.definitelyAbsent = checkCounter(meterRegistry, "absent");
+        this.possiblyPresent = checkCounter(meterRegistry, "maybe");
+        registerGauges(meterRegistry, "username", usernames);
+        registerGauges(meterRegistry, "email", emails);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        long start = System.currentTimeMillis();
+        long count = readOnlyTransaction.execute(status -> {
+            long users = addAll(userRepository::streamUsernames, usernames, UserIdentifierFilter::normalizeUsername);
+            addAll(userRepository::streamEmails, emails, UserIdentifierFilter::normalizeEmail);
+            return users;
+        });
+        loaded = true;
+        log.info("Identifier filters loaded {} users in {} ms ({} KiB each, {} hashes, estimated false-positive rate {})",
+                count, System.currentTimeMillis() - start, usernames.getSizeInBytes() / 1024, usernames.getHashCount(),
+                String.format("%.4f", usernames.estimateFalsePositiveRate()));
+    }
+
+    // Safe to call before the new row commits; a rolled-back registration only leaves a harmless false positive
+    public void add(String username, String email) {
+        usernames.put(normalizeUsername(username));
+        emails.put(normalizeEmail(email));
+    }
+
+    // False means the username is certainly free; true means the database has to be asked
+    public boolean mightContainUsername(String username) {
+        return record(!loaded || usernames.mightContain(normalizeUsername(username)));
+    }
+
+    public boolean mightContainEmail(String email) {
+        return record(!loaded || emails.mightContain(normalizeEmail(email)));
+    }
+
+    // ---- Private Helper Methods ----
+    private boolean record(boolean possible) {
+        (possible ? possiblyPresent : definitelyAbsent).increment();
+        return possible;
+    }
+
+    private static long addAll(Supplier<Stream<String>> source, BloomFilter filter,
+                               UnaryOperator<String> normalize) {
+        long[] count = {0};
+        try (Stream<String> values = source.get()) {
+            values.forEach(value -> {
+                if (value != null) {
+                    filter.put(normalize.apply(value));
+                    count[0]++;
+                }
+            });
+        }
+        return count[0];
+    }
+
+    private static String normalizeUsername(String username) {
+        return username.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static String normalizeEmail(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static Counter checkCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("eventease.auth.identifier.filter.checks")
+                .description("Availability checks answered by the identifier filters")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private static void registerGauges(MeterRegistry meterRegistry, String field, BloomFilter filter) {
+        Gauge.builder("eventease.auth.identifier.filter.bytes", filter, BloomFilter::getSizeInBytes)
+                .description("Memory held by the identifier Bloom filter")
+                .tag("field", field)
+                .register(meterRegistry);
+        Gauge.builder("eventease.auth.identifier.filter.false.positive.rate", filter, BloomFilter::estimateFalsePositiveRate)
+                .description("Estimated false-positive rate of the identifier Bloom filter at its current fill")
+                .tag("field", field)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,106 @@
+package girllead.demo.metrics;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.stereotype.Repository;
+import org.springframework.util.ClassUtils;
+import org.springframework.web.bind.annotation.RestController;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+// Times every call into a controller, service or repository bean as eventease.method.latency, tagged with
+// layer, class, method and outcome. Timers are resolved once per target class and method and then cached, so a
+// call costs two nanoTime reads, two map lookups and a lock-free histogram update, without allocating.
+// The registry is looked up on first use: this interceptor is created while post-processors are still being
+// registered, before the registry has been customised with the distribution settings.
+public class MethodLatencyInterceptor implements MethodInterceptor {
+
+    public static final String METRIC_NAME = "eventease.method.latency";
+
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+    private final ClassValue<TargetTimers> targets = new ClassValue<>() {
+        @Override
+        protected TargetTimers computeValue(Class<?> type) {
+            return new TargetTimers(type);
+        }
+    };
+
+    public MethodLatencyInterceptor(ObjectProvider<MeterRegistry> meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        Object target = invocation.getThis();
+        if (target == null) {
+            return invocation.proceed();
+        }
+        Timer[] timers = targets.get(target.getClass()).timers(invocation.getMethod());
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            Object result = invocation.proceed();
+            failed = false;
+            return result;
+        } finally {
+            (failed ? timers[1] : timers[0]).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    // ---- Private Helper Methods ----
+    private static String layer(Class<?> type) {
+        if (AnnotatedElementUtils.hasAnnotation(type, RestController.class)) {
+            return "controller";
+        }
+        return AnnotatedElementUtils.hasAnnotation(type, Repository.class) ? "repository" : "service";
+    }
+
+    // Spring Data repositories are JDK proxies; they are named after the application interface they implement
+    private static String typeName(Class<?> type) {
+        if (Proxy.isProxyClass(type)) {
+            for (Class<?> implemented : ClassUtils.getAllInterfacesForClassAsSet(type)) {
+                if (AnnotatedElementUtils.hasAnnotation(implemented, Repository.class)) {
+                    return implemented.getSimpleName();
+                }
+            }
+        }
+        return ClassUtils.getUserClass(type).getSimpleName();
+    }
+
+    private final class TargetTimers {
+
+        private final String layer;
+        private final String name;
+        // [success, error] per method
+        private final ConcurrentHashMap<Method, Timer[]> byMethod = new ConcurrentHashMap<>();
+
+        TargetTimers(Class<?> type) {
+            this.layer = layer(type);
+            this.name = typeName(type);
+        }
+
+        Timer[] timers(Method method) {
+            Timer[] timers = byMethod.get(method);
+            return timers != null ? timers : byMethod.computeIfAbsent(method, m -> new Timer[] {
+                    timer(m, "success"), timer(m, "error")});
+        }
+
+        private Timer timer(Method method, String outcome) {
+            return Timer.builder(METRIC_NAME)
+                    .description("Latency of controller, service and repository method calls")
+                    .tag("layer", layer)
+                    .tag("class", name)
+                    .tag("method", method.getName())
+                    .tag("outcome", outcome)
+                    .register(meterRegistry.getObject());
+        }
+    }
+}
@@ -12,7 +12,11 @@ import java.time.LocalDateTime;
 import girllead.demo.backendenums.BookingStatus;
 
 @Entity
-@Table(name = "bookings")
+@Table(name = "bookings", indexes = {
+        @Index(name = "idx_bookings_user_created", columnList = "user_id, created_at, id"),
+        @Index(name = "idx_bookings_vendor_created", columnList = "vendor_id, created_at, id"),
+        @Index(name = "idx_bookings_event_date", columnList = "event_date, id")
+})
 public class Booking {
     
     @Id
@@ -285,18 +289,4 @@ public void setBudget(BigDecimal budget) {
     public int hashCode() {
         return getClass().hashCode();
     }
-
-    public void setBudget(Object budget) {
-        // TODO Auto-generated method stub
-        throw new UnsupportedOperationException("Unimplemented method 'setBudget'");
-    }
-
-    public void setEventType(Object eventType) {
-        throw new UnsupportedOperationException("Not supported yet.");
-    }
-
-    public void setSpecialRequests(Object specialRequests2) {
-        // TODO Auto-generated method stub
-        throw new UnsupportedOperationException("Unimplemented method 'setSpecialRequests'");
-    }
 }
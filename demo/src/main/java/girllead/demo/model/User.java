@@ -4,6 +4,7 @@ import java.time.LocalDateTime;
 import java.util.Collection;
 import java.util.List;
 
+import org.hibernate.annotations.ColumnDefault;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -72,6 +73,12 @@ public class User implements UserDetails {
     @Column(name = "is_active")
     private Boolean isActive = true;
     
+    // Carried in every JWT as the "ver" claim; bumping it invalidates tokens issued before the change
+    @Column(name = "token_version", nullable = false)
+    @ColumnDefault("0")
+    @JsonIgnore
+    private Integer tokenVersion = 0;
+    
     // One-to-one relationship with Vendor (if user is a vendor)
     @OneToOne(mappedBy = "user", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     @JsonIgnore
@@ -216,6 +223,14 @@ public class User implements UserDetails {
         this.isActive = isActive;
     }
     
+    public Integer getTokenVersion() {
+        return tokenVersion;
+    }
+    
+    public void setTokenVersion(Integer tokenVersion) {
+        this.tokenVersion = tokenVersion;
+    }
+    
     public Vendor getVendor() {
         return vendor;
     }
@@ -226,6 +241,10 @@ public class User implements UserDetails {
     
     // ---- Utility Methods ----
     public String getFullName() {
+        return fullNameOf(firstName, lastName, username);
+    }
+    
+    public static String fullNameOf(String firstName, String lastName, String username) {
         if (firstName != null && lastName != null) {
             return firstName + " " + lastName;
         } else if (firstName != null) {
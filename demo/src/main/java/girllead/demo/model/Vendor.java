@@ -8,11 +8,13 @@ import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 
 import java.math.BigDecimal;
-import java.math.RoundingMode;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.ColumnDefault;
+
 import girllead.demo.backendenums.VendorCategory;
 
 @Entity
@@ -46,16 +48,44 @@ public class Vendor {
     @DecimalMin(value = "0.0", message = "Maximum price must be non-negative")
     private BigDecimal maxPrice;
     
-    @Column(name = "average_rating", precision = 3, scale = 2)
+    // Rating aggregates are maintained by atomic UPDATEs in VendorRepository whenever a review changes.
+    // They are never written back from the entity, so a profile edit cannot overwrite a concurrent review's update.
+    @Column(name = "average_rating", precision = 3, scale = 2, updatable = false)
     private BigDecimal averageRating = BigDecimal.ZERO;
     
-    @Column(name = "total_reviews")
+    @Column(name = "total_reviews", updatable = false)
     private Integer totalReviews = 0;
     
+    @Column(name = "rating_sum", nullable = false, updatable = false)
+    @ColumnDefault("0")
+    private Long ratingSum = 0L;
+    
+    @Column(name = "one_star_count", nullable = false, updatable = false)
+    @ColumnDefault("0")
+    private Integer oneStarCount = 0;
+    
+    @Column(name = "two_star_count", nullable = false, updatable = false)
+    @ColumnDefault("0")
+    private Integer twoStarCount = 0;
+    
+    @Column(name = "three_star_count", nullable = false, updatable = false)
+    @ColumnDefault("0")
+    private Integer threeStarCount = 0;
+    
+    @Column(name = "four_star_count", nullable = false, updatable = false)
+    @ColumnDefault("0")
+    private Integer fourStarCount = 0;
+    
+    @Column(name = "five_star_count", nullable = false, updatable = false)
+    @ColumnDefault("0")
+    private Integer fiveStarCount = 0;
+    
     @Column(name = "profile_image_url")
     private String profileImageUrl;
     
+    // Loaded for up to 50 vendors per query when a list of vendors is mapped to responses
     @ElementCollection
+    @BatchSize(size = 50)
     @CollectionTable(name = "vendor_gallery", joinColumns = @JoinColumn(name = "vendor_id"))
     @Column(name = "image_url")
     private List<String> galleryImages = new ArrayList<>();
@@ -109,19 +139,6 @@ public class Vendor {
         this.updatedAt = LocalDateTime.now();
     }
     
-    // ---- Business Logic Methods ----
-    public void updateRating(BigDecimal newRating) {
-    if (totalReviews == 0) {
-        this.averageRating = newRating;
-        this.totalReviews = 1;
-    } else {
-        BigDecimal totalRatingPoints = averageRating.multiply(BigDecimal.valueOf(totalReviews));
-        totalRatingPoints = totalRatingPoints.add(newRating);
-        this.totalReviews++;
-        this.averageRating = totalRatingPoints.divide(BigDecimal.valueOf(totalReviews), 2, RoundingMode.HALF_UP);
-    }
-}
-    
     // ---- Getters and Setters ----
     public Long getId() {
         return id;
@@ -195,6 +212,54 @@ public class Vendor {
         this.totalReviews = totalReviews;
     }
     
+    public Long getRatingSum() {
+        return ratingSum;
+    }
+    
+    public void setRatingSum(Long ratingSum) {
+        this.ratingSum = ratingSum;
+    }
+    
+    public Integer getOneStarCount() {
+        return oneStarCount;
+    }
+    
+    public void setOneStarCount(Integer oneStarCount) {
+        this.oneStarCount = oneStarCount;
+    }
+    
+    public Integer getTwoStarCount() {
+        return twoStarCount;
+    }
+    
+    public void setTwoStarCount(Integer twoStarCount) {
+        this.twoStarCount = twoStarCount;
+    }
+    
+    public Integer getThreeStarCount() {
+        return threeStarCount;
+    }
+    
+    public void setThreeStarCount(Integer threeStarCount) {
+        this.threeStarCount = threeStarCount;
+    }
+    
+    public Integer getFourStarCount() {
+        return fourStarCount;
+    }
+    
+    public void setFourStarCount(Integer fourStarCount) {
+        this.fourStarCount = fourStarCount;
+    }
+    
+    public Integer getFiveStarCount() {
+        return fiveStarCount;
+    }
+    
+    public void setFiveStarCount(Integer fiveStarCount) {
+        this.fiveStarCount = fiveStarCount;
+    }
+    
     public String getProfileImageUrl() {
         return profileImageUrl;
     }
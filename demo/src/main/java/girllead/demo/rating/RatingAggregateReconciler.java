@@ -0,0 +1,124 @@
+package girllead.demo.rating;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import girllead.demo.repository.ReviewRepository;
+import girllead.demo.repository.VendorRepository;
+import girllead.demo.search.VendorFilterEngine;
+
+// Verifies the rating aggregates on each vendor row against its raw reviews and repairs any that drifted.
+// The comparison is one GROUP BY over reviews plus one pass over vendors; each repair then recomputes the
+// vendor under its row lock, so a review committed mid-run is never lost. Running at startup, before any review
+// has been queued, it also replays deltas that RatingUpdatePipeline lost in a crash.
+@Component
+public class RatingAggregateReconciler {
+
+    private static final Logger log = LoggerFactory.getLogger(RatingAggregateReconciler.class);
+
+    // sum, count, then one..five star counts
+    private static final int AGGREGATE_COLUMNS = 7;
+
+    @Autowired
+    private VendorRepository vendorRepository;
+
+    @Autowired
+    private ReviewRepository reviewRepository;
+
+    @Autowired
+    private VendorFilterEngine vendorFilterEngine;
+
+    @Autowired
+    private RatingUpdatePipeline ratingUpdatePipeline;
+
+    private final TransactionTemplate readOnlyTransaction;
+    private final TransactionTemplate transaction;
+
+    public RatingAggregateReconciler(PlatformTransactionManager transactionManager) {
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    // Also runs at startup, which fills in the aggregates the first time the columns are added
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${eventease.rating.reconcile-cron:0 30 3 * * *}")
+    public void reconcile() {
+        long start = System.currentTimeMillis();
+        ratingUpdatePipeline.flush();
+        List<Long> drifted = readOnlyTransaction.execute(status -> findDriftedVendors());
+        int repaired = 0;
+        for (Long vendorId : drifted) {
+            if (Boolean.TRUE.equals(transaction.execute(status -> repair(vendorId)))) {
+                repaired++;
+            }
+        }
+        log.info("Rating aggregates reconciled: {} of {} drifted vendors repaired in {} ms",
+                repaired, drifted.size(), System.currentTimeMillis() - start);
+    }
+
+    // ---- Private Helper Methods ----
+    private List<Long> findDriftedVendors() {
+        Map<Long, long[]> expected = new HashMap<>();
+        try (Stream<Object[]> rows = reviewRepository.streamRatingSummaries()) {
+            rows.forEach(row -> expected.put((Long) row[0], aggregates(row)));
+        }
+
+        List<Long> drifted = new ArrayList<>();
+        try (Stream<Object[]> rows = vendorRepository.streamRatingAggregates()) {
+            rows.forEach(row -> {
+                long[] actual = aggregates(row);
+                long[] wanted = expected.getOrDefault((Long) row[0], new long[AGGREGATE_COLUMNS]);
+                if (!Arrays.equals(actual, wanted)) {
+                    drifted.add((Long) row[0]);
+                }
+            });
+        }
+        return drifted;
+    }
+
+    // Skips a vendor the pipeline still owes a delta to: the recomputed totals may already include reviews whose
+    // deltas are queued, and writing them would count those reviews twice. Such vendors are checked again next run.
+    private boolean repair(Long vendorId) {
+        if (vendorRepository.findByIdForUpdate(vendorId).isEmpty()) {
+            return false;
+        }
+        List<Object[]> summary = reviewRepository.findRatingSummary(vendorId);
+        if (!ratingUpdatePipeline.isIdle(vendorId)) {
+            return false;
+        }
+        long[] wanted = summary.isEmpty() ? new long[AGGREGATE_COLUMNS] : aggregates(summary.get(0));
+        vendorRepository.setRatingAggregates(vendorId, wanted[0], (int) wanted[1],
+                (int) wanted[2], (int) wanted[3], (int) wanted[4], (int) wanted[5], (int) wanted[6]);
+
+        BigDecimal average = vendorRepository.findAverageRatingById(vendorId);
+        vendorFilterEngine.updateRating(vendorId, average);
+        log.warn("Repaired rating aggregates for vendor {}: sum={}, count={}", vendorId, wanted[0], wanted[1]);
+        return true;
+    }
+
+    // Columns 1..7 of a summary or aggregate row; NULL counts as zero
+    private static long[] aggregates(Object[] row) {
+        long[] values = new long[AGGREGATE_COLUMNS];
+        for (int i = 0; i < AGGREGATE_COLUMNS; i++) {
+            Object value = row[i + 1];
+            values[i] = value != null ? ((Number) value).longValue() : 0L;
+        }
+        return values;
+    }
+}
@@ -0,0 +1,73 @@
+package girllead.demo.rating;
+
+// Change to a vendor's rating aggregates caused by one or more review writes.
+// Deltas add up, so several reviews for the same vendor can be applied as a single UPDATE.
+public class RatingDelta {
+
+    private long sum;
+    private int count;
+    private final int[] stars = new int[5];
+
+    // ---- Factories ----
+    public static RatingDelta added(int rating) {
+        RatingDelta delta = new RatingDelta();
+        delta.apply(rating, 1);
+        return delta;
+    }
+
+    public static RatingDelta removed(int rating) {
+        RatingDelta delta = new RatingDelta();
+        delta.apply(rating, -1);
+        return delta;
+    }
+
+    public static RatingDelta changed(int oldRating, int newRating) {
+        RatingDelta delta = removed(oldRating);
+        delta.apply(newRating, 1);
+        return delta;
+    }
+
+    // ---- Accumulation ----
+    public void add(RatingDelta other) {
+        sum += other.sum;
+        count += other.count;
+        for (int i = 0; i < stars.length; i++) {
+            stars[i] += other.stars[i];
+        }
+    }
+
+    public boolean isEmpty() {
+        if (sum != 0 || count != 0) {
+            return false;
+        }
+        for (int star : stars) {
+            if (star != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // ---- Getters ----
+    public long getSum() {
+        return sum;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public int getStarCount(int rating) {
+        return stars[rating - 1];
+    }
+
+    // ---- Private Helper Methods ----
+    private void apply(int rating, int sign) {
+        if (rating < 1 || rating > 5) {
+            throw new IllegalArgumentException("Rating must be between 1 and 5");
+        }
+        sum += sign * rating;
+        count += sign;
+        stars[rating - 1] += sign;
+    }
+}
@@ -0,0 +1,212 @@
+package girllead.demo.rating;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import girllead.demo.repository.VendorRepository;
+import girllead.demo.search.VendorFilterEngine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+// Applies review rating changes to vendor rows in the background. Deltas for the same vendor are summed between
+// flushes, so a burst of reviews costs one UPDATE of the vendor row instead of one per review.
+// A delta only joins the queue once its review transaction commits, and the queue is drained when the application
+// stops. Deltas lost to a crash are recovered by RatingAggregateReconciler at the next startup, which recomputes
+// drifted vendors from the reviews table.
+@Component
+public class RatingUpdatePipeline implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(RatingUpdatePipeline.class);
+
+    @Autowired
+    private VendorRepository vendorRepository;
+
+    @Autowired
+    private VendorFilterEngine vendorFilterEngine;
+
+    private final TransactionTemplate transaction;
+    private final Map<Long, VendorQueue> queues = new ConcurrentHashMap<>();
+    private final Timer flushTimer;
+    private final Counter vendorUpdates;
+    private volatile boolean running = false;
+
+    public RatingUpdatePipeline(PlatformTransactionManager transactionManager, MeterRegistry meterRegistry) {
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.flushTimer = Timer.builder("eventease.rating.pipeline.flush")
+                .description("Time to apply all queued rating deltas")
+                .register(meterRegistry);
+        this.vendorUpdates = Counter.builder("eventease.rating.pipeline.vendor.updates")
+                .description("Vendor rows updated by the rating pipeline")
+                .register(meterRegistry);
+        Gauge.builder("eventease.rating.pipeline.queue.depth", this, RatingUpdatePipeline::queueDepth)
+                .description("Vendors with rating deltas waiting to be flushed")
+                .register(meterRegistry);
+    }
+
+    // ---- Producers ----
+    // Called inside the review transaction; the delta is queued only if that transaction commits
+    public void submit(Long vendorId, RatingDelta delta) {
+        VendorQueue queue = queues.computeIfAbsent(vendorId, id -> new VendorQueue());
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            queue.enqueue(delta);
+            return;
+        }
+        queue.beginPending();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                queue.endPending(status == STATUS_COMMITTED ? delta : null);
+            }
+        });
+    }
+
+    // True when no delta for the vendor is uncommitted, queued or being applied
+    public boolean isIdle(Long vendorId) {
+        VendorQueue queue = queues.get(vendorId);
+        return queue == null || queue.isIdle();
+    }
+
+    // ---- Consumer ----
+    @Scheduled(fixedDelayString = "${eventease.rating.flush-interval:PT1S}")
+    public void flush() {
+        List<Long> vendorIds = new ArrayList<>();
+        queues.forEach((vendorId, queue) -> {
+            if (queue.hasDelta()) {
+                vendorIds.add(vendorId);
+            }
+        });
+        if (vendorIds.isEmpty()) {
+            return;
+        }
+        flushTimer.record(() -> vendorIds.forEach(this::flushVendor));
+    }
+
+    // ---- Lifecycle ----
+    @Override
+    public void start() {
+        running = true;
+    }
+
+    // Drain whatever is queued; the web server has already stopped accepting requests by now
+    @Override
+    public void stop() {
+        running = false;
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        flush();
+        while (queueDepth() > 0 && System.nanoTime() < deadline) {
+            flush();
+        }
+        if (queueDepth() > 0) {
+            log.warn("Rating pipeline stopped with {} vendors unflushed; they will be reconciled at next startup", queueDepth());
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // Stops after the web server (DEFAULT_PHASE - 2048) so no new reviews arrive during the drain
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    // ---- Private Helper Methods ----
+    private void flushVendor(Long vendorId) {
+        VendorQueue queue = queues.get(vendorId);
+        RatingDelta delta = queue.take();
+        if (delta == null) {
+            return;
+        }
+        try {
+            transaction.executeWithoutResult(status -> {
+                vendorRepository.applyRatingDelta(vendorId, delta.getSum(), delta.getCount(),
+                        delta.getStarCount(1), delta.getStarCount(2), delta.getStarCount(3),
+                        delta.getStarCount(4), delta.getStarCount(5));
+                if (vendorFilterEngine.isActive()) {
+                    vendorFilterEngine.updateRating(vendorId, vendorRepository.findAverageRatingById(vendorId));
+                }
+            });
+            vendorUpdates.increment();
+            queue.endFlush(null);
+        } catch (RuntimeException e) {
+            log.warn("Rating update for vendor {} failed; retrying on next flush", vendorId, e);
+            queue.endFlush(delta);
+        }
+    }
+
+    private int queueDepth() {
+        int depth = 0;
+        for (VendorQueue queue : queues.values()) {
+            if (queue.hasDelta()) {
+                depth++;
+            }
+        }
+        return depth;
+    }
+
+    // Per-vendor accumulator. busy counts review transactions that have submitted but not completed,
+    // plus a flush that has taken the delta but not yet committed it
+    private static final class VendorQueue {
+
+        private RatingDelta delta = new RatingDelta();
+        private int busy;
+
+        synchronized void enqueue(RatingDelta change) {
+            delta.add(change);
+        }
+
+        synchronized void beginPending() {
+            busy++;
+        }
+
+        synchronized void endPending(RatingDelta committed) {
+            if (committed != null) {
+                delta.add(committed);
+            }
+            busy--;
+        }
+
+        synchronized RatingDelta take() {
+            if (delta.isEmpty()) {
+                return null;
+            }
+            RatingDelta taken = delta;
+            delta = new RatingDelta();
+            busy++;
+            return taken;
+        }
+
+        synchronized void endFlush(RatingDelta unapplied) {
+            if (unapplied != null) {
+                delta.add(unapplied);
+            }
+            busy--;
+        }
+
+        synchronized boolean hasDelta() {
+            return !delta.isEmpty();
+        }
+
+        synchronized boolean isIdle() {
+            return busy == 0 && delta.isEmpty();
+        }
+    }
+}
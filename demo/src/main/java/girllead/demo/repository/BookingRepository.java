@@ -1,20 +1,128 @@
 package girllead.demo.repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import girllead.demo.backendenums.BookingStatus;
+import girllead.demo.dto.BookingResponse;
 import girllead.demo.model.Booking;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
 
 
 @Repository
 public interface BookingRepository extends JpaRepository<Booking, Long> {
     
+    // Builds BookingResponse rows in one select with the user and vendor joined in.
+    // The TEXT columns event_description and special_requirements are never read.
+    String BOOKING_RESPONSE_SELECT = "SELECT new girllead.demo.dto.BookingResponse(" +
+           "b.id, b.eventDate, b.eventLocation, b.eventType, b.guestCount, b.specialRequests, b.budget, b.status, " +
+           "b.createdAt, b.updatedAt, u.id, u.firstName, u.lastName, u.username, v.id, v.businessName) " +
+           "FROM Booking b JOIN b.user u JOIN b.vendor v ";
+    
+    @Query(BOOKING_RESPONSE_SELECT + "WHERE b.id = :id")
+    Optional<BookingResponse> findResponseById(@Param("id") Long id);
+    
+    // Honoured by MySQL only with useCursorFetch=true on the JDBC URL
+    int EXPORT_FETCH_SIZE = 1000;
+    
+    // ---- Keyset pages ----
+    // Each query returns the rows strictly after (key, id) in its ORDER BY; callers pass limit + 1 to detect a next page.
+    // First pages are requested with a boundary key, e.g. (now, Long.MAX_VALUE) for upcoming bookings.
+    String AFTER_CREATED_AT_DESC =
+           "(b.createdAt < :createdAt OR (b.createdAt = :createdAt AND b.id < :id)) ";
+    String ORDER_BY_CREATED_AT_DESC = "ORDER BY b.createdAt DESC, b.id DESC";
+    
+    @Query(BOOKING_RESPONSE_SELECT + "WHERE u.id = :userId AND " + AFTER_CREATED_AT_DESC + ORDER_BY_CREATED_AT_DESC)
+    List<BookingResponse> findUserPage(
+            @Param("userId") Long userId,
+            @Param("createdAt") LocalDateTime createdAt,
+            @Param("id") Long id,
+            Limit limit
+    );
+    
+    @Query(BOOKING_RESPONSE_SELECT + "WHERE u.id = :userId AND b.status = :status AND " + AFTER_CREATED_AT_DESC + ORDER_BY_CREATED_AT_DESC)
+    List<BookingResponse> findUserPageByStatus(
+            @Param("userId") Long userId,
+            @Param("status") BookingStatus status,
+            @Param("createdAt") LocalDateTime createdAt,
+            @Param("id") Long id,
+            Limit limit
+    );
+    
+    @Query(BOOKING_RESPONSE_SELECT + "WHERE v.id = :vendorId AND " + AFTER_CREATED_AT_DESC + ORDER_BY_CREATED_AT_DESC)
+    List<BookingResponse> findVendorPage(
+            @Param("vendorId") Long vendorId,
+            @Param("createdAt") LocalDateTime createdAt,
+            @Param("id") Long id,
+            Limit limit
+    );
+    
+    @Query(BOOKING_RESPONSE_SELECT + "WHERE v.id = :vendorId AND b.status = :status AND " + AFTER_CREATED_AT_DESC + ORDER_BY_CREATED_AT_DESC)
+    List<BookingResponse> findVendorPageByStatus(
+            @Param("vendorId") Long vendorId,
+            @Param("status") BookingStatus status,
+            @Param("createdAt") LocalDateTime createdAt,
+            @Param("id") Long id,
+            Limit limit
+    );
+    
+    @Query(BOOKING_RESPONSE_SELECT +
+           "WHERE (b.eventDate > :eventDate OR (b.eventDate = :eventDate AND b.id > :id)) " +
+           "ORDER BY b.eventDate ASC, b.id ASC")
+    List<BookingResponse> findEventDatePageAfter(
+            @Param("eventDate") LocalDateTime eventDate,
+            @Param("id") Long id,
+            Limit limit
+    );
+    
+    @Query(BOOKING_RESPONSE_SELECT +
+           "WHERE (b.eventDate < :eventDate OR (b.eventDate = :eventDate AND b.id < :id)) " +
+           "ORDER BY b.eventDate DESC, b.id DESC")
+    List<BookingResponse> findEventDatePageBefore(
+            @Param("eventDate") LocalDateTime eventDate,
+            @Param("id") Long id,
+            Limit limit
+    );
+    
+    @Query(BOOKING_RESPONSE_SELECT +
+           "WHERE (b.eventDate > :eventDate OR (b.eventDate = :eventDate AND b.id > :id)) AND b.eventDate <= :endDate " +
+           "ORDER BY b.eventDate ASC, b.id ASC")
+    List<BookingResponse> findEventDatePageAfterUntil(
+            @Param("eventDate") LocalDateTime eventDate,
+            @Param("id") Long id,
+            @Param("endDate") LocalDateTime endDate,
+            Limit limit
+    );
+    
+    // ---- Export streams ----
+    // Rows are read through a JDBC cursor; DTO rows are not managed, so the persistence context stays empty
+    @Query(BOOKING_RESPONSE_SELECT + "ORDER BY b.id")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + EXPORT_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<BookingResponse> streamAllResponses();
+    
+    @Query(BOOKING_RESPONSE_SELECT + "WHERE v.id = :vendorId ORDER BY b.id")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + EXPORT_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<BookingResponse> streamVendorResponses(@Param("vendorId") Long vendorId);
+    
     List<Booking> findByUserId(Long userId);
     
     List<Booking> findByVendorId(Long vendorId);
@@ -56,19 +164,25 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
     @Query("SELECT b FROM Booking b WHERE b.eventDate > :currentDate AND b.status IN ('PENDING', 'CONFIRMED')")
     List<Booking> findUpcomingBookings(@Param("currentDate") LocalDateTime currentDate);
     
+    // (id, eventDate) of a vendor's bookings that still hold a slot, for the availability calendar
+    @Query("SELECT b.id, b.eventDate FROM Booking b " +
+           "WHERE b.vendor.id = :vendorId AND b.status IN :statuses AND b.eventDate > :after")
+    List<Object[]> findOccupiedSlots(
+            @Param("vendorId") Long vendorId,
+            @Param("statuses") Collection<BookingStatus> statuses,
+            @Param("after") LocalDateTime after
+    );
+    
+    // Slot holders starting strictly between after and before, read with FOR UPDATE
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b FROM Booking b " +
+           "WHERE b.vendor.id = :vendorId AND b.status IN :statuses AND b.eventDate > :after AND b.eventDate < :before")
+    List<Booking> findOccupyingBetweenForUpdate(
+            @Param("vendorId") Long vendorId,
+            @Param("statuses") Collection<BookingStatus> statuses,
+            @Param("after") LocalDateTime after,
+            @Param("before") LocalDateTime before
+    );
+    
     boolean existsByVendorIdAndEventDateBetween(Long vendorId, LocalDateTime startDate, LocalDateTime endDate);
-
-    List<Booking> findByUserIdAndStatusOrderByCreatedAtDesc(Long userId, BookingStatus status);
-
-    List<Booking> findByVendorIdOrderByCreatedAtDesc(Long vendorId);
-
-    List<Booking> findByEventDateBeforeOrderByEventDateDesc(LocalDateTime now);
-
-    List<Booking> findByUserIdOrderByCreatedAtDesc(Long userId);
-
-    List<Booking> findByEventDateAfterOrderByEventDateAsc(LocalDateTime now);
-
-    List<Booking> findByEventDateBetweenOrderByEventDateAsc(LocalDateTime startDate, LocalDateTime endDate);
-
-    List<Booking> findByVendorIdAndStatusOrderByCreatedAtDesc(Long vendorId, BookingStatus status);
 }
\ No newline at end of file
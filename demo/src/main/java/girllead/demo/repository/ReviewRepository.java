@@ -3,6 +3,7 @@ package girllead.demo.repository;
 import java.math.BigDecimal;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -16,6 +17,18 @@ import girllead.demo.model.Review;
 @Repository
 public interface ReviewRepository extends JpaRepository<Review, Long> {
     
+    // Rating aggregates recomputed from the raw reviews: (vendorId, sum, count, one..five star counts)
+    String RATING_SUMMARY = "SELECT r.vendor.id, SUM(r.rating), COUNT(r), " +
+           "SUM(CASE WHEN r.rating = 1 THEN 1 ELSE 0 END), SUM(CASE WHEN r.rating = 2 THEN 1 ELSE 0 END), " +
+           "SUM(CASE WHEN r.rating = 3 THEN 1 ELSE 0 END), SUM(CASE WHEN r.rating = 4 THEN 1 ELSE 0 END), " +
+           "SUM(CASE WHEN r.rating = 5 THEN 1 ELSE 0 END) FROM Review r ";
+    
+    @Query(RATING_SUMMARY + "GROUP BY r.vendor.id")
+    Stream<Object[]> streamRatingSummaries();
+    
+    @Query(RATING_SUMMARY + "WHERE r.vendor.id = :vendorId GROUP BY r.vendor.id")
+    List<Object[]> findRatingSummary(@Param("vendorId") Long vendorId);
+    
     List<Review> findByVendorId(Long vendorId);
     
     Page<Review> findByVendorId(Long vendorId, Pageable pageable);
@@ -3,26 +3,47 @@ package girllead.demo.repository;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import girllead.demo.Security.UserSnapshot;
 import girllead.demo.backendenums.UserRole;
 import girllead.demo.model.User;
+import jakarta.persistence.QueryHint;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
     
+    int IDENTIFIER_FETCH_SIZE = 5000;
+    
     Optional<User> findByUsername(String username);
     
+    // Everything authentication needs in one row, without loading the entity or its vendor association
+    @Query("SELECT new girllead.demo.Security.UserSnapshot(u.id, u.username, u.password, u.role, v.id, u.tokenVersion, u.isActive) " +
+           "FROM User u LEFT JOIN u.vendor v WHERE u.username = :username")
+    Optional<UserSnapshot> findSnapshotByUsername(@Param("username") String username);
+    
     Optional<User> findByEmail(String email);
     
     boolean existsByUsername(String username);
     
     boolean existsByEmail(String email);
     
+    // Identifier columns only, read through a cursor to build UserIdentifierFilter
+    @Query("SELECT u.username FROM User u")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + IDENTIFIER_FETCH_SIZE))
+    Stream<String> streamUsernames();
+    
+    @Query("SELECT u.email FROM User u")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + IDENTIFIER_FETCH_SIZE))
+    Stream<String> streamEmails();
+    
     List<User> findByRole(UserRole role);
     
     
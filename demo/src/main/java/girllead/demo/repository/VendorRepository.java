@@ -2,19 +2,96 @@ package girllead.demo.repository;
 import java.math.BigDecimal;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import girllead.demo.backendenums.VendorCategory;
+import girllead.demo.dto.VendorRatingStats;
 import girllead.demo.model.Vendor;
+import jakarta.persistence.LockModeType;
 
 @Repository
-public interface VendorRepository extends JpaRepository<Vendor, Long> {
+public interface VendorRepository extends JpaRepository<Vendor, Long>, JpaSpecificationExecutor<Vendor> {
+    
+    String VENDOR_FILTER_QUERY = "SELECT v FROM Vendor v WHERE v.isVerified = true AND v.isAvailable = true " +
+           "AND (:category IS NULL OR v.category = :category) " +
+           "AND (:location IS NULL OR LOWER(v.serviceLocation) LIKE LOWER(CONCAT('%', :location, '%'))) " +
+           "AND (:minPrice IS NULL OR v.minPrice >= :minPrice) " +
+           "AND (:maxPrice IS NULL OR v.maxPrice <= :maxPrice) " +
+           "AND (:minRating IS NULL OR v.averageRating >= :minRating)";
+    
+    // SELECT ... FOR UPDATE on the vendor row; serializes bookings for one vendor across application nodes
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT v FROM Vendor v WHERE v.id = :id")
+    Optional<Vendor> findByIdForUpdate(@Param("id") Long id);
+    
+    // ---- Rating aggregates ----
+    // averageRating is assigned first: MySQL evaluates SET clauses left to right against already-updated columns,
+    // so it must still see the old sum and count here to agree with databases that use the old row throughout
+    @Modifying
+    @Query("UPDATE Vendor v SET " +
+           "v.averageRating = CASE WHEN v.totalReviews + :countDelta > 0 " +
+           "THEN ROUND((v.ratingSum + :sumDelta) * 1.0 / (v.totalReviews + :countDelta), 2) ELSE 0 END, " +
+           "v.ratingSum = v.ratingSum + :sumDelta, " +
+           "v.totalReviews = v.totalReviews + :countDelta, " +
+           "v.oneStarCount = v.oneStarCount + :oneStar, " +
+           "v.twoStarCount = v.twoStarCount + :twoStar, " +
+           "v.threeStarCount = v.threeStarCount + :threeStar, " +
+           "v.fourStarCount = v.fourStarCount + :fourStar, " +
+           "v.fiveStarCount = v.fiveStarCount + :fiveStar " +
+           "WHERE v.id = :vendorId")
+    int applyRatingDelta(
+            @Param("vendorId") Long vendorId,
+            @Param("sumDelta") long sumDelta,
+            @Param("countDelta") int countDelta,
+            @Param("oneStar") int oneStar,
+            @Param("twoStar") int twoStar,
+            @Param("threeStar") int threeStar,
+            @Param("fourStar") int fourStar,
+            @Param("fiveStar") int fiveStar
+    );
+    
+    @Modifying
+    @Query("UPDATE Vendor v SET " +
+           "v.averageRating = CASE WHEN :count > 0 THEN ROUND(:sum * 1.0 / :count, 2) ELSE 0 END, " +
+           "v.ratingSum = :sum, v.totalReviews = :count, " +
+           "v.oneStarCount = :oneStar, v.twoStarCount = :twoStar, v.threeStarCount = :threeStar, " +
+           "v.fourStarCount = :fourStar, v.fiveStarCount = :fiveStar " +
+           "WHERE v.id = :vendorId")
+    int setRatingAggregates(
+            @Param("vendorId") Long vendorId,
+            @Param("sum") long sum,
+            @Param("count") int count,
+            @Param("oneStar") int oneStar,
+            @Param("twoStar") int twoStar,
+            @Param("threeStar") int threeStar,
+            @Param("fourStar") int fourStar,
+            @Param("fiveStar") int fiveStar
+    );
+    
+    @Query("SELECT new girllead.demo.dto.VendorRatingStats(v.averageRating, v.totalReviews, " +
+           "v.fiveStarCount, v.fourStarCount, v.threeStarCount, v.twoStarCount, v.oneStarCount) " +
+           "FROM Vendor v WHERE v.id = :vendorId")
+    Optional<VendorRatingStats> findRatingStats(@Param("vendorId") Long vendorId);
+    
+    @Query("SELECT v.averageRating FROM Vendor v WHERE v.id = :vendorId")
+    BigDecimal findAverageRatingById(@Param("vendorId") Long vendorId);
+    
+    // (id, ratingSum, totalReviews, one..five star counts) in the column order of ReviewRepository.RATING_SUMMARY
+    @Query("SELECT v.id, v.ratingSum, v.totalReviews, v.oneStarCount, v.twoStarCount, v.threeStarCount, " +
+           "v.fourStarCount, v.fiveStarCount FROM Vendor v")
+    Stream<Object[]> streamRatingAggregates();
     
     List<Vendor> findByCategory(VendorCategory category);
     
@@ -22,15 +99,53 @@ public interface VendorRepository extends JpaRepository<Vendor, Long> {
     
     List<Vendor> findByIsAvailableTrue();
     
+    // List queries fetch the owning user in the same select; convertToResponse reads its name, email and phone
+    @EntityGraph(attributePaths = "user")
     List<Vendor> findByCategoryAndIsVerifiedTrueAndIsAvailableTrue(VendorCategory category);
     
-    @Query("SELECT v FROM Vendor v WHERE v.isVerified = true AND v.isAvailable = true " +
-           "AND (:category IS NULL OR v.category = :category) " +
+    @Override
+    @EntityGraph(attributePaths = "user")
+    List<Vendor> findAllById(Iterable<Long> ids);
+    
+    @EntityGraph(attributePaths = "user")
+    @Query(VENDOR_FILTER_QUERY)
+    Page<Vendor> findVendorsWithFilters(
+            @Param("category") VendorCategory category,
+            @Param("location") String location,
+            @Param("minPrice") BigDecimal minPrice,
+            @Param("maxPrice") BigDecimal maxPrice,
+            @Param("minRating") BigDecimal minRating,
+            Pageable pageable
+    );
+    
+    // Bucket expressions for VendorFacets: -1 for NULL, then one bucket per edge plus an open-ended top bucket
+    String MIN_PRICE_BUCKET = "CASE WHEN v.minPrice IS NULL THEN -1 WHEN v.minPrice < 100 THEN 0 " +
+           "WHEN v.minPrice < 500 THEN 1 WHEN v.minPrice < 1000 THEN 2 WHEN v.minPrice < 5000 THEN 3 ELSE 4 END";
+    String MAX_PRICE_BUCKET = "CASE WHEN v.maxPrice IS NULL THEN -1 WHEN v.maxPrice < 100 THEN 0 " +
+           "WHEN v.maxPrice < 500 THEN 1 WHEN v.maxPrice < 1000 THEN 2 WHEN v.maxPrice < 5000 THEN 3 ELSE 4 END";
+    String RATING_BUCKET = "CASE WHEN v.averageRating IS NULL THEN -1 WHEN v.averageRating < 1 THEN 0 " +
+           "WHEN v.averageRating < 2 THEN 1 WHEN v.averageRating < 3 THEN 2 WHEN v.averageRating < 4 THEN 3 ELSE 4 END";
+    
+    // One GROUP BY pass over the filtered set: [category, minPriceBucket, maxPriceBucket, ratingBucket, count].
+    // The category filter is deliberately not applied so the category facet can show the alternatives.
+    @Query("SELECT v.category, " + MIN_PRICE_BUCKET + ", " + MAX_PRICE_BUCKET + ", " + RATING_BUCKET + ", COUNT(v) " +
+           "FROM Vendor v WHERE v.isVerified = true AND v.isAvailable = true " +
            "AND (:location IS NULL OR LOWER(v.serviceLocation) LIKE LOWER(CONCAT('%', :location, '%'))) " +
            "AND (:minPrice IS NULL OR v.minPrice >= :minPrice) " +
            "AND (:maxPrice IS NULL OR v.maxPrice <= :maxPrice) " +
-           "AND (:minRating IS NULL OR v.averageRating >= :minRating)")
-    Page<Vendor> findVendorsWithFilters(
+           "AND (:minRating IS NULL OR v.averageRating >= :minRating) " +
+           "GROUP BY v.category, " + MIN_PRICE_BUCKET + ", " + MAX_PRICE_BUCKET + ", " + RATING_BUCKET)
+    List<Object[]> countFacetCube(
+            @Param("location") String location,
+            @Param("minPrice") BigDecimal minPrice,
+            @Param("maxPrice") BigDecimal maxPrice,
+            @Param("minRating") BigDecimal minRating
+    );
+    
+    // Same filters as findVendorsWithFilters without the COUNT(*) query
+    @EntityGraph(attributePaths = "user")
+    @Query(VENDOR_FILTER_QUERY)
+    Slice<Vendor> findVendorSliceWithFilters(
             @Param("category") VendorCategory category,
             @Param("location") String location,
             @Param("minPrice") BigDecimal minPrice,
@@ -39,14 +154,27 @@ public interface VendorRepository extends JpaRepository<Vendor, Long> {
             Pageable pageable
     );
     
+    @EntityGraph(attributePaths = "user")
     @Query("SELECT v FROM Vendor v WHERE LOWER(v.businessName) LIKE LOWER(CONCAT('%', :searchTerm, '%')) " +
            "OR LOWER(v.description) LIKE LOWER(CONCAT('%', :searchTerm, '%')) " +
            "OR LOWER(v.serviceLocation) LIKE LOWER(CONCAT('%', :searchTerm, '%'))")
     List<Vendor> searchVendors(@Param("searchTerm") String searchTerm);
     
+    // Raw searchable text for building the in-memory index: [id, businessName, description, serviceLocation]
+    @Query("SELECT v.id, v.businessName, v.description, v.serviceLocation FROM Vendor v")
+    Stream<Object[]> streamSearchableText();
+    
+    // Filter and sort columns for VendorFilterEngine:
+    // [id, category, isVerified, isAvailable, minPrice, maxPrice, averageRating, createdAt, serviceLocation]
+    @Query("SELECT v.id, v.category, v.isVerified, v.isAvailable, v.minPrice, v.maxPrice, v.averageRating, " +
+           "v.createdAt, v.serviceLocation FROM Vendor v")
+    Stream<Object[]> streamFilterColumns();
+    
+    @EntityGraph(attributePaths = "user")
     @Query("SELECT v FROM Vendor v WHERE v.averageRating >= :rating ORDER BY v.averageRating DESC")
     List<Vendor> findTopRatedVendors(@Param("rating") BigDecimal rating, Pageable pageable);
     
+    @EntityGraph(attributePaths = "user")
     @Query("SELECT v FROM Vendor v WHERE v.isVerified = true ORDER BY v.createdAt DESC")
     List<Vendor> findRecentlyJoined(Pageable pageable);
     
@@ -55,6 +183,9 @@ public interface VendorRepository extends JpaRepository<Vendor, Long> {
     @Query("SELECT COUNT(v) FROM Vendor v WHERE v.category = :category AND v.isVerified = true")
     long countByCategoryAndVerified(@Param("category") VendorCategory category);
     
+    @Query("SELECT v.category, COUNT(v) FROM Vendor v WHERE v.isVerified = true GROUP BY v.category")
+    List<Object[]> countVerifiedGroupByCategory();
+    
     @Query("SELECT v FROM Vendor v WHERE v.serviceLocation LIKE %:location% AND v.isAvailable = true")
     List<Vendor> findByServiceLocationContaining(@Param("location") String location);
 
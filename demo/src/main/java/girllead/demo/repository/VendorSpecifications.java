@@ -0,0 +1,72 @@
+package girllead.demo.repository;
+
+import java.math.BigDecimal;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import girllead.demo.backendenums.VendorCategory;
+import girllead.demo.model.Vendor;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+
+// Criteria equivalents of VendorRepository.findVendorsWithFilters, plus the keyset seek predicate.
+// Absent filters are left out of the WHERE clause entirely instead of being OR-ed with IS NULL.
+public final class VendorSpecifications {
+
+    private VendorSpecifications() {}
+
+    public static Specification<Vendor> withFilters(
+            VendorCategory category,
+            String location,
+            BigDecimal minPrice,
+            BigDecimal maxPrice,
+            BigDecimal minRating) {
+
+        return (root, query, cb) -> {
+            Predicate predicate = cb.and(
+                    cb.isTrue(root.get("isVerified")),
+                    cb.isTrue(root.get("isAvailable")));
+
+            if (category != null) {
+                predicate = cb.and(predicate, cb.equal(root.get("category"), category));
+            }
+            if (location != null) {
+                predicate = cb.and(predicate, cb.like(cb.lower(root.get("serviceLocation")),
+                        "%" + location.toLowerCase() + "%"));
+            }
+            if (minPrice != null) {
+                predicate = cb.and(predicate, cb.greaterThanOrEqualTo(root.get("minPrice"), minPrice));
+            }
+            if (maxPrice != null) {
+                predicate = cb.and(predicate, cb.lessThanOrEqualTo(root.get("maxPrice"), maxPrice));
+            }
+            if (minRating != null) {
+                predicate = cb.and(predicate, cb.greaterThanOrEqualTo(root.get("averageRating"), minRating));
+            }
+            return predicate;
+        };
+    }
+
+    // Rows strictly after (lastKey, lastId) in "sortBy sortDir, id sortDir" order.
+    // NULL keys sort first ascending and last descending, matching MySQL.
+    public static <T extends Comparable<? super T>> Specification<Vendor> seekAfter(
+            String sortBy, boolean descending, T lastKey, Long lastId) {
+
+        return (root, query, cb) -> {
+            Path<T> key = root.get(sortBy);
+            Path<Long> id = root.get("id");
+            Predicate idAfter = descending ? cb.lessThan(id, lastId) : cb.greaterThan(id, lastId);
+
+            if (lastKey == null) {
+                Predicate sameKey = cb.and(cb.isNull(key), idAfter);
+                return descending ? sameKey : cb.or(sameKey, cb.isNotNull(key));
+            }
+
+            Predicate keyAfter = descending ? cb.lessThan(key, lastKey) : cb.greaterThan(key, lastKey);
+            Predicate sameKey = cb.and(cb.equal(key, lastKey), idAfter);
+            return descending
+                    ? cb.or(keyAfter, sameKey, cb.isNull(key))
+                    : cb.or(keyAfter, sameKey);
+        };
+    }
+}
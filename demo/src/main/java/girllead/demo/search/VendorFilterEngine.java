@@ -0,0 +1,522 @@
+package girllead.demo.search;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.ToLongFunction;
+import java.util.stream.Stream;
+
+import org.roaringbitmap.FastAggregation;
+import org.roaringbitmap.IntIterator;
+import org.roaringbitmap.RoaringBitmap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import girllead.demo.backendenums.VendorCategory;
+import girllead.demo.model.Vendor;
+import girllead.demo.repository.VendorRepository;
+
+// In-process equivalent of VendorRepository.findVendorsWithFilters.
+// Category and the verified/available flags are compressed bitmaps; price, rating and createdAt are
+// sorted (value, id) columns answered by binary search over precomputed bucket bitmaps. Vendors changed since
+// the columns were last sorted are tracked in a dirty bitmap and checked individually until the next rebuild.
+// Enabled with eventease.search.filter-engine.enabled=true.
+@Component
+public class VendorFilterEngine {
+
+    private static final Logger log = LoggerFactory.getLogger(VendorFilterEngine.class);
+
+    // Stand-in for SQL NULL: sorts lowest (as MySQL does) and never matches a range filter
+    private static final long NULL_VALUE = Long.MIN_VALUE;
+    private static final int MAX_DIRTY = 4096;
+
+    private static final ToLongFunction<Row> MIN_PRICE = row -> row.minPrice;
+    private static final ToLongFunction<Row> MAX_PRICE = row -> row.maxPrice;
+    private static final ToLongFunction<Row> RATING = row -> row.rating;
+    private static final ToLongFunction<Row> CREATED_AT = row -> row.createdAt;
+
+    @Autowired
+    private VendorRepository vendorRepository;
+
+    @Value("${eventease.search.filter-engine.enabled:false}")
+    private boolean enabled;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Integer, Row> rows = new HashMap<>();
+    private final RoaringBitmap[] byCategory = new RoaringBitmap[VendorCategory.values().length];
+    private final RoaringBitmap verified = new RoaringBitmap();
+    private final RoaringBitmap available = new RoaringBitmap();
+    private final RoaringBitmap dirty = new RoaringBitmap();
+    private SortedColumn minPriceColumn = SortedColumn.EMPTY;
+    private SortedColumn maxPriceColumn = SortedColumn.EMPTY;
+    private SortedColumn ratingColumn = SortedColumn.EMPTY;
+    private SortedColumn createdAtColumn = SortedColumn.EMPTY;
+    private volatile boolean ready = false;
+
+    public VendorFilterEngine() {
+        for (int i = 0; i < byCategory.length; i++) {
+            byCategory[i] = new RoaringBitmap();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+        lock.writeLock().lock();
+        try (Stream<Object[]> vendorRows = vendorRepository.streamFilterColumns()) {
+            vendorRows.forEach(row -> put(new Row(
+                    toIntId((Long) row[0]),
+                    (VendorCategory) row[1],
+                    Boolean.TRUE.equals(row[2]),
+                    Boolean.TRUE.equals(row[3]),
+                    toFixed((BigDecimal) row[4], RoundingMode.HALF_UP),
+                    toFixed((BigDecimal) row[5], RoundingMode.HALF_UP),
+                    toFixed((BigDecimal) row[6], RoundingMode.HALF_UP),
+                    toEpochMicros((LocalDateTime) row[7]),
+                    (String) row[8])));
+            rebuildColumns();
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Vendor filter engine built: {} vendors in {} ms", rows.size(), System.currentTimeMillis() - start);
+    }
+
+    public boolean isActive() {
+        return enabled && ready;
+    }
+
+    public boolean supportsSort(String sortBy) {
+        return "averageRating".equals(sortBy) || "minPrice".equals(sortBy) || "createdAt".equals(sortBy);
+    }
+
+    // Applied once the surrounding transaction commits, so a rolled-back change never shows up in searches
+    public void upsert(Vendor vendor) {
+        if (!enabled) {
+            return;
+        }
+        Row row = new Row(
+                toIntId(vendor.getId()),
+                vendor.getCategory(),
+                Boolean.TRUE.equals(vendor.getIsVerified()),
+                Boolean.TRUE.equals(vendor.getIsAvailable()),
+                toFixed(vendor.getMinPrice(), RoundingMode.HALF_UP),
+                toFixed(vendor.getMaxPrice(), RoundingMode.HALF_UP),
+                toFixed(vendor.getAverageRating(), RoundingMode.HALF_UP),
+                toEpochMicros(vendor.getCreatedAt()),
+                vendor.getServiceLocation());
+
+        afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                put(row);
+                dirty.add(row.id);
+                if (dirty.getCardinality() > MAX_DIRTY) {
+                    rebuildColumns();
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    // A review changed the vendor's average; every other column of the row is kept. Like upsert, applied once the
+    // surrounding transaction commits
+    public void updateRating(Long vendorId, BigDecimal averageRating) {
+        if (!enabled) {
+            return;
+        }
+        int id = toIntId(vendorId);
+        long rating = toFixed(averageRating, RoundingMode.HALF_UP);
+
+        afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                Row old = rows.get(id);
+                if (old == null) {
+                    return;
+                }
+                put(new Row(old.id, old.category, old.verified, old.available, old.minPrice, old.maxPrice,
+                        rating, old.createdAt, old.location));
+                dirty.add(old.id);
+                if (dirty.getCardinality() > MAX_DIRTY) {
+                    rebuildColumns();
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    public Result search(
+            VendorCategory category,
+            String location,
+            BigDecimal minPrice,
+            BigDecimal maxPrice,
+            BigDecimal minRating,
+            int page,
+            int size,
+            String sortBy,
+            boolean descending) {
+
+        lock.readLock().lock();
+        try {
+            RoaringBitmap candidates = RoaringBitmap.and(verified, available);
+            if (category != null) {
+                candidates.and(byCategory[category.ordinal()]);
+            }
+            if (minPrice != null) {
+                candidates.and(range(minPriceColumn, MIN_PRICE, toFixed(minPrice, RoundingMode.CEILING), Long.MAX_VALUE));
+            }
+            if (maxPrice != null) {
+                candidates.and(range(maxPriceColumn, MAX_PRICE, NULL_VALUE + 1, toFixed(maxPrice, RoundingMode.FLOOR)));
+            }
+            if (minRating != null) {
+                candidates.and(range(ratingColumn, RATING, toFixed(minRating, RoundingMode.CEILING), Long.MAX_VALUE));
+            }
+            if (location != null) {
+                candidates = filterLocation(candidates, location.toLowerCase(Locale.ROOT));
+            }
+
+            long total = candidates.getLongCardinality();
+            List<Long> ids = page(candidates, sortBy, descending, (long) page * size, size);
+            return new Result(ids, total);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // ---- Private Helper Methods ----
+    private void put(Row row) {
+        Row old = rows.put(row.id, row);
+        if (old != null) {
+            byCategory[old.category.ordinal()].remove(old.id);
+        }
+        byCategory[row.category.ordinal()].add(row.id);
+        setFlag(verified, row.id, row.verified);
+        setFlag(available, row.id, row.available);
+    }
+
+    private void rebuildColumns() {
+        minPriceColumn = SortedColumn.build(rows.values(), MIN_PRICE);
+        maxPriceColumn = SortedColumn.build(rows.values(), MAX_PRICE);
+        ratingColumn = SortedColumn.build(rows.values(), RATING);
+        createdAtColumn = SortedColumn.build(rows.values(), CREATED_AT);
+        dirty.clear();
+    }
+
+    private RoaringBitmap range(SortedColumn column, ToLongFunction<Row> field, long from, long to) {
+        RoaringBitmap result = column.range(from, to);
+        if (!dirty.isEmpty()) {
+            result.andNot(dirty);
+            IntIterator it = dirty.getIntIterator();
+            while (it.hasNext()) {
+                Row row = rows.get(it.next());
+                if (row != null) {
+                    long value = field.applyAsLong(row);
+                    if (value != NULL_VALUE && value >= from && value <= to) {
+                        result.add(row.id);
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    private RoaringBitmap filterLocation(RoaringBitmap candidates, String location) {
+        RoaringBitmap result = new RoaringBitmap();
+        IntIterator it = candidates.getIntIterator();
+        while (it.hasNext()) {
+            Row row = rows.get(it.next());
+            if (row.location != null && row.location.contains(location)) {
+                result.add(row.id);
+            }
+        }
+        return result;
+    }
+
+    private List<Long> page(RoaringBitmap candidates, String sortBy, boolean descending, long offset, int limit) {
+        if (limit <= 0 || offset >= candidates.getLongCardinality()) {
+            return Collections.emptyList();
+        }
+        ToLongFunction<Row> field = fieldFor(sortBy);
+        SortedColumn column = columnFor(sortBy);
+
+        // Few candidates: sort them directly instead of walking the whole column
+        if (candidates.getLongCardinality() * 16 < rows.size()) {
+            int[] ids = candidates.toArray();
+            List<Row> matched = new ArrayList<>(ids.length);
+            for (int id : ids) {
+                matched.add(rows.get(id));
+            }
+            matched.sort((a, b) -> compare(field, a, b, descending));
+            List<Long> result = new ArrayList<>(limit);
+            for (long i = offset; i < matched.size() && result.size() < limit; i++) {
+                result.add((long) matched.get((int) i).id);
+            }
+            return result;
+        }
+
+        // Otherwise merge the sorted column (skipping dirty entries) with the sorted dirty rows
+        List<Row> dirtyRows = new ArrayList<>();
+        IntIterator it = dirty.getIntIterator();
+        while (it.hasNext()) {
+            Row row = rows.get(it.next());
+            if (row != null) {
+                dirtyRows.add(row);
+            }
+        }
+        dirtyRows.sort((a, b) -> compare(field, a, b, descending));
+
+        List<Long> result = new ArrayList<>(limit);
+        long skipped = 0;
+        int n = column.size();
+        int ci = 0;
+        int di = 0;
+        while (result.size() < limit && (ci < n || di < dirtyRows.size())) {
+            int columnIndex = descending ? n - 1 - ci : ci;
+            int id;
+            if (ci < n && dirty.contains(column.idAt(columnIndex))) {
+                ci++;
+                continue;
+            }
+            if (di < dirtyRows.size() && (ci >= n || compare(dirtyRows.get(di), column, columnIndex, field, descending) < 0)) {
+                id = dirtyRows.get(di++).id;
+            } else {
+                id = column.idAt(columnIndex);
+                ci++;
+            }
+            if (candidates.contains(id)) {
+                if (skipped < offset) {
+                    skipped++;
+                } else {
+                    result.add((long) id);
+                }
+            }
+        }
+        return result;
+    }
+
+    private int compare(ToLongFunction<Row> field, Row a, Row b, boolean descending) {
+        int cmp = Long.compare(field.applyAsLong(a), field.applyAsLong(b));
+        if (cmp == 0) {
+            cmp = Integer.compare(a.id, b.id);
+        }
+        return descending ? -cmp : cmp;
+    }
+
+    private int compare(Row row, SortedColumn column, int index, ToLongFunction<Row> field, boolean descending) {
+        int cmp = Long.compare(field.applyAsLong(row), column.valueAt(index));
+        if (cmp == 0) {
+            cmp = Integer.compare(row.id, column.idAt(index));
+        }
+        return descending ? -cmp : cmp;
+    }
+
+    private ToLongFunction<Row> fieldFor(String sortBy) {
+        switch (sortBy) {
+            case "minPrice":
+                return MIN_PRICE;
+            case "createdAt":
+                return CREATED_AT;
+            default:
+                return RATING;
+        }
+    }
+
+    private SortedColumn columnFor(String sortBy) {
+        switch (sortBy) {
+            case "minPrice":
+                return minPriceColumn;
+            case "createdAt":
+                return createdAtColumn;
+            default:
+                return ratingColumn;
+        }
+    }
+
+    private static void setFlag(RoaringBitmap bitmap, int id, boolean value) {
+        if (value) {
+            bitmap.add(id);
+        } else {
+            bitmap.remove(id);
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private static int toIntId(Long id) {
+        if (id == null || id < 0 || id > Integer.MAX_VALUE) {
+            throw new IllegalStateException("Vendor id out of range for the filter engine: " + id);
+        }
+        return id.intValue();
+    }
+
+    // Prices and ratings have scale 2, so hundredths as a long is exact
+    private static long toFixed(BigDecimal value, RoundingMode roundingMode) {
+        return value != null ? value.movePointRight(2).setScale(0, roundingMode).longValueExact() : NULL_VALUE;
+    }
+
+    private static long toEpochMicros(LocalDateTime value) {
+        return value != null ? value.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + value.getNano() / 1_000 : NULL_VALUE;
+    }
+
+    public static class Result {
+        private final List<Long> ids;
+        private final long total;
+
+        public Result(List<Long> ids, long total) {
+            this.ids = ids;
+            this.total = total;
+        }
+
+        public List<Long> getIds() { return ids; }
+
+        public long getTotal() { return total; }
+    }
+
+    private static final class Row {
+        final int id;
+        final VendorCategory category;
+        final boolean verified;
+        final boolean available;
+        final long minPrice;
+        final long maxPrice;
+        final long rating;
+        final long createdAt;
+        final String location;
+
+        Row(int id, VendorCategory category, boolean verified, boolean available,
+                long minPrice, long maxPrice, long rating, long createdAt, String location) {
+            this.id = id;
+            this.category = category;
+            this.verified = verified;
+            this.available = available;
+            this.minPrice = minPrice;
+            this.maxPrice = maxPrice;
+            this.rating = rating;
+            this.createdAt = createdAt;
+            this.location = location != null ? location.toLowerCase(Locale.ROOT) : null;
+        }
+    }
+
+    // Parallel primitive arrays ordered by (value, id), plus a bitmap of the IDs in each run of BUCKET_SIZE
+    // positions. A range query ORs the buckets it covers and adds the few IDs at either end individually.
+    private static final class SortedColumn {
+        static final SortedColumn EMPTY = new SortedColumn(new long[0], new int[0]);
+
+        private static final int BUCKET_SIZE = 1024;
+
+        private final long[] values;
+        private final int[] ids;
+        private final RoaringBitmap[] buckets;
+
+        private SortedColumn(long[] values, int[] ids) {
+            this.values = values;
+            this.ids = ids;
+            this.buckets = new RoaringBitmap[(ids.length + BUCKET_SIZE - 1) / BUCKET_SIZE];
+            for (int b = 0; b < buckets.length; b++) {
+                int[] slice = Arrays.copyOfRange(ids, b * BUCKET_SIZE, Math.min(ids.length, (b + 1) * BUCKET_SIZE));
+                Arrays.sort(slice);
+                buckets[b] = new RoaringBitmap();
+                buckets[b].addN(slice, 0, slice.length);
+            }
+        }
+
+        static SortedColumn build(Iterable<Row> rows, ToLongFunction<Row> field) {
+            List<Row> sorted = new ArrayList<>();
+            rows.forEach(sorted::add);
+            sorted.sort((a, b) -> {
+                int cmp = Long.compare(field.applyAsLong(a), field.applyAsLong(b));
+                return cmp != 0 ? cmp : Integer.compare(a.id, b.id);
+            });
+            long[] values = new long[sorted.size()];
+            int[] ids = new int[sorted.size()];
+            for (int i = 0; i < sorted.size(); i++) {
+                values[i] = field.applyAsLong(sorted.get(i));
+                ids[i] = sorted.get(i).id;
+            }
+            return new SortedColumn(values, ids);
+        }
+
+        int size() {
+            return ids.length;
+        }
+
+        int idAt(int index) {
+            return ids[index];
+        }
+
+        long valueAt(int index) {
+            return values[index];
+        }
+
+        // IDs whose value lies in [from, to]; NULL values are never included
+        RoaringBitmap range(long from, long to) {
+            long lower = Math.max(from, NULL_VALUE + 1);
+            int start = lowerBound(lower);
+            int end = to == Long.MAX_VALUE ? values.length : lowerBound(to + 1);
+            int firstBucket = (start + BUCKET_SIZE - 1) / BUCKET_SIZE;
+            int lastBucket = end / BUCKET_SIZE;
+            if (start >= end || firstBucket >= lastBucket) {
+                return idsBetween(new RoaringBitmap(), start, end);
+            }
+            RoaringBitmap result = FastAggregation.or(Arrays.copyOfRange(buckets, firstBucket, lastBucket));
+            idsBetween(result, start, firstBucket * BUCKET_SIZE);
+            return idsBetween(result, lastBucket * BUCKET_SIZE, end);
+        }
+
+        private RoaringBitmap idsBetween(RoaringBitmap result, int start, int end) {
+            for (int i = start; i < end; i++) {
+                result.add(ids[i]);
+            }
+            return result;
+        }
+
+        private int lowerBound(long value) {
+            int lo = 0;
+            int hi = values.length;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (values[mid] < value) {
+                    lo = mid + 1;
+                } else {
+                    hi = mid;
+                }
+            }
+            return lo;
+        }
+    }
+}
@@ -0,0 +1,250 @@
+package girllead.demo.search;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+import org.roaringbitmap.FastAggregation;
+import org.roaringbitmap.IntIterator;
+import org.roaringbitmap.RoaringBitmap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import girllead.demo.model.Vendor;
+import girllead.demo.repository.VendorRepository;
+
+// Inverted index over vendor businessName, description and serviceLocation.
+// Postings are compressed bitmaps keyed by normalized term; each query token matches every term it is a prefix
+// of, and tokens are AND-ed together, narrowest first. Only vendor IDs are returned - callers hydrate from the
+// repository.
+@Component
+public class VendorTextIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(VendorTextIndex.class);
+
+    // A token that is a prefix of more terms than this (e.g. a single letter) is not expanded into a union of
+    // their postings up front. It is applied last: checked against each candidate's own terms when the other
+    // tokens left few enough candidates for that to be cheaper, expanded otherwise.
+    private static final int MAX_PREFIX_TERMS = 256;
+    private static final int MAX_CANDIDATES_CHECKED = 4096;
+
+    @Autowired
+    private VendorRepository vendorRepository;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final TreeMap<String, RoaringBitmap> postings = new TreeMap<>();
+    private final Map<Integer, Set<String>> termsByVendor = new HashMap<>();
+    private volatile boolean ready = false;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        try (Stream<Object[]> rows = vendorRepository.streamSearchableText()) {
+            rows.forEach(row -> index((Long) row[0], (String) row[1], (String) row[2], (String) row[3]));
+        }
+        ready = true;
+        log.info("Vendor text index built: {} vendors, {} terms in {} ms",
+                termsByVendor.size(), postings.size(), System.currentTimeMillis() - start);
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    // Applied once the surrounding transaction commits, so a rolled-back change never shows up in searches
+    public void index(Vendor vendor) {
+        Long vendorId = vendor.getId();
+        String[] fields = {vendor.getBusinessName(), vendor.getDescription(), vendor.getServiceLocation()};
+        afterCommit(() -> index(vendorId, fields));
+    }
+
+    public void index(Long vendorId, String... fields) {
+        int id = toIntId(vendorId);
+        Set<String> newTerms = new HashSet<>();
+        for (String field : fields) {
+            newTerms.addAll(tokenize(field));
+        }
+
+        lock.writeLock().lock();
+        try {
+            Set<String> oldTerms = termsByVendor.put(id, newTerms);
+            if (oldTerms != null) {
+                for (String term : oldTerms) {
+                    if (!newTerms.contains(term)) {
+                        removePosting(term, id);
+                    }
+                }
+            }
+            for (String term : newTerms) {
+                postings.computeIfAbsent(term, t -> new RoaringBitmap()).add(id);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long vendorId) {
+        int id = toIntId(vendorId);
+        lock.writeLock().lock();
+        try {
+            Set<String> oldTerms = termsByVendor.remove(id);
+            if (oldTerms != null) {
+                oldTerms.forEach(term -> removePosting(term, id));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Returns matching vendor IDs in ascending order
+    public List<Long> search(String query) {
+        Set<String> tokens = new LinkedHashSet<>(tokenize(query));
+        if (tokens.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        lock.readLock().lock();
+        try {
+            RoaringBitmap result = match(tokens);
+            List<Long> ids = new ArrayList<>(result.getCardinality());
+            result.forEach((int id) -> ids.add((long) id));
+            return ids;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public static List<String> tokenize(String text) {
+        if (text == null || text.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<String> tokens = new ArrayList<>();
+        String lower = text.toLowerCase(Locale.ROOT);
+        int start = -1;
+        for (int i = 0; i <= lower.length(); i++) {
+            boolean wordChar = i < lower.length() && Character.isLetterOrDigit(lower.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                tokens.add(lower.substring(start, i));
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    // ---- Private Helper Methods ----
+    // Narrow tokens are intersected from the smallest match set up, so every AND shrinks the smallest operand;
+    // broad ones are then applied to the few candidates left
+    private RoaringBitmap match(Set<String> tokens) {
+        List<RoaringBitmap> narrow = new ArrayList<>();
+        List<String> broad = new ArrayList<>();
+        for (String token : tokens) {
+            List<RoaringBitmap> matching = new ArrayList<>();
+            for (RoaringBitmap ids : prefixRange(token).values()) {
+                if (matching.size() == MAX_PREFIX_TERMS) {
+                    matching = null;
+                    break;
+                }
+                matching.add(ids);
+            }
+            if (matching == null) {
+                broad.add(token);
+            } else if (matching.isEmpty()) {
+                return new RoaringBitmap();
+            } else {
+                narrow.add(matching.size() == 1 ? matching.get(0) : FastAggregation.or(matching.iterator()));
+            }
+        }
+
+        RoaringBitmap result;
+        if (narrow.isEmpty()) {
+            // Nothing narrower to start from, so the first broad token has to be expanded after all
+            result = FastAggregation.or(prefixRange(broad.remove(0)).values().iterator());
+        } else {
+            narrow.sort(Comparator.comparingInt(RoaringBitmap::getCardinality));
+            result = narrow.get(0).clone();
+            for (int i = 1; i < narrow.size() && !result.isEmpty(); i++) {
+                result.and(narrow.get(i));
+            }
+        }
+        for (String token : broad) {
+            if (result.isEmpty()) {
+                break;
+            }
+            if (result.getCardinality() <= MAX_CANDIDATES_CHECKED) {
+                result = withTermStartingWith(result, token);
+            } else {
+                result.and(FastAggregation.or(prefixRange(token).values().iterator()));
+            }
+        }
+        return result;
+    }
+
+    private Map<String, RoaringBitmap> prefixRange(String prefix) {
+        return postings.subMap(prefix, true, prefix + Character.MAX_VALUE, false);
+    }
+
+    private RoaringBitmap withTermStartingWith(RoaringBitmap candidates, String prefix) {
+        RoaringBitmap result = new RoaringBitmap();
+        IntIterator it = candidates.getIntIterator();
+        while (it.hasNext()) {
+            int id = it.next();
+            for (String term : termsByVendor.get(id)) {
+                if (term.startsWith(prefix)) {
+                    result.add(id);
+                    break;
+                }
+            }
+        }
+        return result;
+    }
+
+    private void removePosting(String term, int vendorId) {
+        RoaringBitmap ids = postings.get(term);
+        if (ids != null) {
+            ids.remove(vendorId);
+            if (ids.isEmpty()) {
+                postings.remove(term);
+            }
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private static int toIntId(Long id) {
+        if (id == null || id < 0 || id > Integer.MAX_VALUE) {
+            throw new IllegalStateException("Vendor id out of range for the text index: " + id);
+        }
+        return id.intValue();
+    }
+}
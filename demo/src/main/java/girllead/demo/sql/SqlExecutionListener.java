@@ -0,0 +1,68 @@
+package girllead.demo.sql;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+
+// Called by the data source proxy after every statement: credits the current request's SqlRequestStats and logs
+// statements slower than the threshold together with their bound parameters.
+// Elapsed times are in nanoseconds; SqlInstrumentationConfig installs a nanoTime stopwatch on the proxy.
+public class SqlExecutionListener implements QueryExecutionListener {
+
+    private static final Logger log = LoggerFactory.getLogger(SqlExecutionListener.class);
+
+    // A slow batch insert would otherwise log every row
+    private static final int MAX_LOGGED_PARAMETER_SETS = 5;
+
+    private final long slowQueryNanos;
+
+    public SqlExecutionListener(Duration slowQueryThreshold) {
+        this.slowQueryNanos = slowQueryThreshold.toNanos();
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        long elapsedNanos = execInfo.getElapsedTime();
+        SqlRequestStats.record(elapsedNanos);
+        if (elapsedNanos >= slowQueryNanos && log.isWarnEnabled()) {
+            log.warn("Slow SQL ({} ms{}): {}", elapsedNanos / 1_000_000, execInfo.isSuccess() ? "" : ", failed",
+                    describe(queryInfoList));
+        }
+    }
+
+    // ---- Private Helper Methods ----
+    private static String describe(List<QueryInfo> queries) {
+        StringBuilder text = new StringBuilder();
+        for (QueryInfo query : queries) {
+            if (text.length() > 0) {
+                text.append("; ");
+            }
+            text.append(query.getQuery());
+            List<List<ParameterSetOperation>> parameterSets = query.getParametersList();
+            for (int i = 0; i < parameterSets.size() && i < MAX_LOGGED_PARAMETER_SETS; i++) {
+                text.append(" [");
+                List<ParameterSetOperation> parameters = parameterSets.get(i);
+                for (int p = 0; p < parameters.size(); p++) {
+                    Object[] args = parameters.get(p).getArgs();
+                    text.append(p > 0 ? ", " : "").append(args.length > 1 ? args[1] : null);
+                }
+                text.append(']');
+            }
+            if (parameterSets.size() > MAX_LOGGED_PARAMETER_SETS) {
+                text.append(" ... ").append(parameterSets.size() - MAX_LOGGED_PARAMETER_SETS).append(" more");
+            }
+        }
+        return text.toString();
+    }
+}
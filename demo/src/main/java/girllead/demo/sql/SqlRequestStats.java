@@ -0,0 +1,72 @@
+package girllead.demo.sql;
+
+import java.util.function.Supplier;
+
+// Statements executed and time spent in the database by the current request. Kept per thread: JDBC calls run on
+// the thread serving the request, and work handed to another pool on the request's behalf (password checks)
+// runs through callWith. A JDBC batch counts as one statement. Scopes nest; a statement is credited to every
+// open scope on the thread, so a test can wrap a whole MockMvc call.
+public final class SqlRequestStats {
+
+    private static final ThreadLocal<SqlRequestStats> CURRENT = new ThreadLocal<>();
+
+    private final SqlRequestStats outer;
+    // Written by one thread at a time; the executor hand-off orders a pool thread's writes before the caller reads
+    private int statementCount;
+    private long elapsedNanos;
+
+    private SqlRequestStats(SqlRequestStats outer) {
+        this.outer = outer;
+    }
+
+    public static SqlRequestStats start() {
+        SqlRequestStats stats = new SqlRequestStats(CURRENT.get());
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    public void stop() {
+        if (outer != null) {
+            CURRENT.set(outer);
+        } else {
+            CURRENT.remove();
+        }
+    }
+
+    public static SqlRequestStats current() {
+        return CURRENT.get();
+    }
+
+    // Runs work on this thread with the given scope open, e.g. a pool thread doing part of a request
+    public static <T> T callWith(SqlRequestStats stats, Supplier<T> work) {
+        if (stats == null) {
+            return work.get();
+        }
+        SqlRequestStats previous = CURRENT.get();
+        CURRENT.set(stats);
+        try {
+            return work.get();
+        } finally {
+            if (previous != null) {
+                CURRENT.set(previous);
+            } else {
+                CURRENT.remove();
+            }
+        }
+    }
+
+    static void record(long elapsedNanos) {
+        for (SqlRequestStats stats = CURRENT.get(); stats != null; stats = stats.outer) {
+            stats.statementCount++;
+            stats.elapsedNanos += elapsedNanos;
+        }
+    }
+
+    public int getStatementCount() {
+        return statementCount;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+}
@@ -0,0 +1,120 @@
+package girllead.demo.sql;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+
+// Opens a SqlRequestStats scope around each request (security filters included) and, when
+// eventease.sql.expose-headers is on, reports it as X-SQL-Statement-Count and X-SQL-Time-Ms response headers.
+// Off by default: DB timings are not something to hand to every client. Headers have to be set before the body
+// starts, so they are written when the handler first asks for the output stream: by then the controller and
+// its services are done, though lazy loads made while serializing are only in the debug log line.
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class SqlRequestStatsFilter extends OncePerRequestFilter {
+
+    public static final String STATEMENT_COUNT_HEADER = "X-SQL-Statement-Count";
+    public static final String TIME_HEADER = "X-SQL-Time-Ms";
+
+    private static final Logger log = LoggerFactory.getLogger(SqlRequestStatsFilter.class);
+
+    private final boolean exposeHeaders;
+
+    public SqlRequestStatsFilter(@Value("${eventease.sql.expose-headers:false}") boolean exposeHeaders) {
+        this.exposeHeaders = exposeHeaders;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        SqlRequestStats stats = SqlRequestStats.start();
+        StatsHeaderResponse wrapped = exposeHeaders ? new StatsHeaderResponse(response, stats) : null;
+        try {
+            filterChain.doFilter(request, wrapped != null ? wrapped : response);
+        } finally {
+            stats.stop();
+            if (wrapped != null) {
+                wrapped.writeHeaders();
+            }
+            if (log.isDebugEnabled()) {
+                log.debug("{} {}: {} SQL statements in {} ms", request.getMethod(), request.getRequestURI(),
+                        stats.getStatementCount(), formatMillis(stats.getElapsedNanos()));
+            }
+        }
+    }
+
+    // ---- Private Helper Methods ----
+    private static String formatMillis(long nanos) {
+        return String.valueOf(nanos / 1000 / 1000.0);
+    }
+
+    private static final class StatsHeaderResponse extends HttpServletResponseWrapper {
+
+        private final SqlRequestStats stats;
+        private boolean written = false;
+
+        StatsHeaderResponse(HttpServletResponse response, SqlRequestStats stats) {
+            super(response);
+            this.stats = stats;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            writeHeaders();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            writeHeaders();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            writeHeaders();
+            super.flushBuffer();
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            writeHeaders();
+            super.sendError(sc, msg);
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            writeHeaders();
+            super.sendError(sc);
+        }
+
+        @Override
+        public void sendRedirect(String location) throws IOException {
+            writeHeaders();
+            super.sendRedirect(location);
+        }
+
+        void writeHeaders() {
+            if (written || isCommitted()) {
+                return;
+            }
+            written = true;
+            setHeader(STATEMENT_COUNT_HEADER, String.valueOf(stats.getStatementCount()));
+            setHeader(TIME_HEADER, formatMillis(stats.getElapsedNanos()));
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package girllead.Service;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.apache.coyote.BadRequestException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import girllead.EventEaseApplication;
+import girllead.demo.dto.RegisterRequest;
+import girllead.demo.model.User;
+import girllead.demo.repository.UserRepository;
+
+// Users written after startup by another node or a bulk import are unknown to this node's Bloom filter;
+// registration must still refuse their names with the usual messages rather than hit the unique constraint
+@SpringBootTest(classes = EventEaseApplication.class,
+        properties = "spring.datasource.url=jdbc:h2:mem:registration;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1")
+@ActiveProfiles("test")
+class AuthServiceRegistrationTests {
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void usernameTakenOutsideThisNodeIsRefused() {
+        long suffix = System.nanoTime();
+        userRepository.save(new User("taken" + suffix, "taken" + suffix + "@example.com", "secret", "Tak", "En"));
+
+        assertThatThrownBy(() -> authService.register(request("taken" + suffix, "other" + suffix + "@example.com")))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessage("Username already exists");
+    }
+
+    @Test
+    void emailTakenOutsideThisNodeIsRefused() {
+        long suffix = System.nanoTime();
+        userRepository.save(new User("taken" + suffix, "taken" + suffix + "@example.com", "secret", "Tak", "En"));
+
+        assertThatThrownBy(() -> authService.register(request("other" + suffix, "taken" + suffix + "@example.com")))
+                .hasMessage("Email already exists");
+    }
+
+    // ---- Private Helper Methods ----
+    private static RegisterRequest request(String username, String email) {
+        RegisterRequest request = new RegisterRequest(username, email, "secret123");
+        request.setFirstName("New");
+        return request;
+    }
+}
@@ -0,0 +1,119 @@
+package girllead.Service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import girllead.EventEaseApplication;
+import girllead.demo.Exception.BookingConflictException;
+import girllead.demo.backendenums.VendorCategory;
+import girllead.demo.dto.BookingRequest;
+import girllead.demo.model.User;
+import girllead.demo.model.Vendor;
+import girllead.demo.repository.UserRepository;
+import girllead.demo.repository.VendorRepository;
+
+// Planners racing for the same vendor slot must produce exactly one booking
+@SpringBootTest(classes = EventEaseApplication.class,
+        properties = "spring.datasource.url=jdbc:h2:mem:bookings;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1")
+@ActiveProfiles("test")
+class BookingServiceConcurrencyTests {
+
+    private static final int THREADS = 8;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private VendorRepository vendorRepository;
+
+    private ExecutorService executor;
+    private User planner;
+    private LocalDateTime eventDate;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newFixedThreadPool(THREADS);
+        long suffix = System.nanoTime();
+        planner = userRepository.save(new User("planner" + suffix, "planner" + suffix + "@example.com", "secret", "Plan", "Ner"));
+        eventDate = LocalDateTime.now().plusDays(10).withNano(0);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void sameVendorSameSlotBooksExactlyOnce() throws Exception {
+        Vendor vendor = newVendor();
+        List<Callable<Object>> attempts = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            attempts.add(() -> bookingService.createBooking(planner.getId(), new BookingRequest(vendor.getId(), eventDate)));
+        }
+
+        List<Object> outcomes = race(attempts);
+
+        assertThat(outcomes).filteredOn(o -> !(o instanceof Exception)).hasSize(1);
+        assertThat(outcomes).filteredOn(o -> o instanceof Exception)
+                .hasSize(THREADS - 1)
+                .allMatch(o -> o instanceof BookingConflictException);
+    }
+
+    @Test
+    void distinctVendorsDoNotBlockEachOther() throws Exception {
+        List<Callable<Object>> attempts = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            Vendor vendor = newVendor();
+            attempts.add(() -> bookingService.createBooking(planner.getId(), new BookingRequest(vendor.getId(), eventDate)));
+        }
+
+        assertThat(race(attempts)).noneMatch(o -> o instanceof Exception);
+    }
+
+    private Vendor newVendor() {
+        long suffix = System.nanoTime();
+        User owner = userRepository.save(new User("owner" + suffix, "owner" + suffix + "@example.com", "secret", "Own", "Er"));
+        return vendorRepository.save(new Vendor("Sound Co " + suffix, VendorCategory.values()[0], owner));
+    }
+
+    // Releases every attempt at once and returns each result or the exception it threw
+    private List<Object> race(List<Callable<Object>> attempts) throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Object>> futures = new ArrayList<>();
+        for (Callable<Object> attempt : attempts) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                try {
+                    return attempt.call();
+                } catch (Exception e) {
+                    return e;
+                }
+            }));
+        }
+        start.countDown();
+
+        List<Object> outcomes = new ArrayList<>();
+        for (Future<Object> future : futures) {
+            outcomes.add(future.get());
+        }
+        return outcomes;
+    }
+}
@@ -0,0 +1,100 @@
+package girllead.Service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import girllead.EventEaseApplication;
+import girllead.demo.SqlStatements;
+import girllead.demo.backendenums.VendorCategory;
+import girllead.demo.model.User;
+import girllead.demo.model.Vendor;
+import girllead.demo.repository.UserRepository;
+import girllead.demo.repository.VendorRepository;
+import girllead.demo.search.VendorTextIndex;
+
+// Every vendor list endpoint must map N vendors to responses in a bounded number of statements
+@SpringBootTest(classes = EventEaseApplication.class)
+@ActiveProfiles("test")
+class VendorServiceQueryCountTests {
+
+    private static final int VENDOR_COUNT = 12;
+
+    @Autowired
+    private VendorService vendorService;
+
+    @Autowired
+    private VendorRepository vendorRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private VendorTextIndex vendorTextIndex;
+
+    @BeforeEach
+    void seedVendors() {
+        if (vendorRepository.count() > 0) {
+            return;
+        }
+        for (int i = 0; i < VENDOR_COUNT; i++) {
+            User user = userRepository.save(new User("owner" + i, "owner" + i + "@example.com", "secret", "Owner", "No" + i));
+            Vendor vendor = new Vendor("Lens Studio " + i, VendorCategory.PHOTOGRAPHY, user);
+            vendor.setDescription("Wedding photography");
+            vendor.setServiceLocation("Nairobi");
+            vendor.setMinPrice(BigDecimal.valueOf(100 + i));
+            vendor.setMaxPrice(BigDecimal.valueOf(1000 + i));
+            vendor.setAverageRating(new BigDecimal("4.50"));
+            vendor.setIsVerified(true);
+            vendor.setGalleryImages(List.of("a" + i + ".jpg", "b" + i + ".jpg"));
+            vendorRepository.save(vendor);
+        }
+        vendorTextIndex.rebuild();
+    }
+
+    @Test
+    void searchVendorsUsesBoundedStatements() {
+        // page select + COUNT(*) + one batched gallery load
+        assertStatements(3, () -> vendorService.searchVendors(
+                null, null, null, null, null, 0, VENDOR_COUNT, "averageRating", "desc").getContent());
+    }
+
+    @Test
+    void cursorSearchUsesBoundedStatements() {
+        assertStatements(2, () -> vendorService.searchVendorsByCursor(
+                null, null, null, null, null, null, VENDOR_COUNT, "averageRating", "desc").getContent());
+    }
+
+    @Test
+    void categoryListUsesBoundedStatements() {
+        assertStatements(2, () -> vendorService.getVendorsByCategory(VendorCategory.PHOTOGRAPHY));
+    }
+
+    @Test
+    void topRatedUsesBoundedStatements() {
+        assertStatements(2, () -> vendorService.getTopRatedVendors(VENDOR_COUNT));
+    }
+
+    @Test
+    void recentlyJoinedUsesBoundedStatements() {
+        assertStatements(2, () -> vendorService.getRecentlyJoinedVendors(VENDOR_COUNT));
+    }
+
+    @Test
+    void textSearchUsesBoundedStatements() {
+        assertStatements(2, () -> vendorService.searchVendorsByTerm("wedding"));
+    }
+
+    private void assertStatements(int maxStatements, Supplier<List<?>> endpoint) {
+        List<?> results = SqlStatements.assertAtMost(maxStatements, endpoint);
+        assertThat(results).hasSize(VENDOR_COUNT);
+    }
+}
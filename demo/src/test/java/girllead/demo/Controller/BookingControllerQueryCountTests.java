@@ -0,0 +1,105 @@
+package girllead.demo.Controller;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import girllead.EventEaseApplication;
+import girllead.demo.SqlStatements;
+import girllead.demo.Security.AuthenticatedUser;
+import girllead.demo.Security.JwtService;
+import girllead.demo.backendenums.UserRole;
+import girllead.demo.backendenums.VendorCategory;
+import girllead.demo.model.Booking;
+import girllead.demo.model.User;
+import girllead.demo.model.Vendor;
+import girllead.demo.repository.BookingRepository;
+import girllead.demo.repository.UserRepository;
+import girllead.demo.repository.VendorRepository;
+
+// Booking list endpoints must map N bookings to responses in a bounded number of statements, authentication included
+@SpringBootTest(classes = EventEaseApplication.class,
+        properties = "spring.datasource.url=jdbc:h2:mem:bookingqueries;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class BookingControllerQueryCountTests {
+
+    private static final int BOOKING_COUNT = 12;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private VendorRepository vendorRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    private Booking booking;
+    private String plannerToken;
+    private String vendorToken;
+
+    @BeforeEach
+    void seedBookings() {
+        long suffix = System.nanoTime();
+        User planner = userRepository.save(new User("planner" + suffix, "planner" + suffix + "@example.com", "secret", "Plan", "Ner"));
+        User owner = new User("owner" + suffix, "owner" + suffix + "@example.com", "secret", "Own", "Er");
+        owner.setRole(UserRole.VENDOR);
+        owner = userRepository.save(owner);
+        Vendor vendor = new Vendor("Lens Studio " + suffix, VendorCategory.PHOTOGRAPHY, owner);
+        vendor.setServiceLocation("Nairobi");
+        vendor = vendorRepository.save(vendor);
+        for (int i = 0; i < BOOKING_COUNT; i++) {
+            booking = bookingRepository.save(new Booking(planner, vendor, LocalDateTime.now().plusDays(10 + i).withNano(0),
+                    "Nairobi", BigDecimal.valueOf(1000 + i)));
+        }
+        plannerToken = jwtService.generateToken(planner);
+        vendorToken = jwtService.generateToken(new AuthenticatedUser(owner.getId(), owner.getUsername(),
+                UserRole.VENDOR, vendor.getId(), owner.getTokenVersion()));
+    }
+
+    // Bookings are read as BookingResponse rows directly: one statement. Authentication takes everything from the
+    // token and the in-memory TokenVersionStore, so a second statement means a per-request user lookup is back.
+    @Test
+    void myBookingsUsesBoundedStatements() throws Exception {
+        mockMvc.perform(get("/bookings/my-bookings").param("size", String.valueOf(BOOKING_COUNT))
+                        .header("Authorization", "Bearer " + plannerToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(BOOKING_COUNT))
+                .andExpect(SqlStatements.atMost(1));
+    }
+
+    @Test
+    void vendorBookingsUsesBoundedStatements() throws Exception {
+        mockMvc.perform(get("/bookings/vendor-bookings").param("size", String.valueOf(BOOKING_COUNT))
+                        .header("Authorization", "Bearer " + vendorToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(BOOKING_COUNT))
+                .andExpect(SqlStatements.atMost(1));
+    }
+
+    @Test
+    void bookingByIdUsesBoundedStatements() throws Exception {
+        mockMvc.perform(get("/bookings/{id}", booking.getId())
+                        .header("Authorization", "Bearer " + plannerToken))
+                .andExpect(status().isOk())
+                .andExpect(SqlStatements.atMost(1));
+    }
+}
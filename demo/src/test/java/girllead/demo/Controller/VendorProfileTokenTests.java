@@ -0,0 +1,68 @@
+package girllead.demo.Controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import girllead.EventEaseApplication;
+import girllead.demo.Security.JwtService;
+import girllead.demo.model.User;
+import girllead.demo.repository.UserRepository;
+
+// Becoming a vendor outdates the caller's tokens, so the response must carry a refresh token that still works
+@SpringBootTest(classes = EventEaseApplication.class,
+        properties = "spring.datasource.url=jdbc:h2:mem:vendorprofile;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class VendorProfileTokenTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void promotedUserCanRefresh() throws Exception {
+        long suffix = System.nanoTime();
+        User user = userRepository.save(new User("promoted" + suffix, "promoted" + suffix + "@example.com", "secret", "Pro", "Moted"));
+        String oldRefreshToken = jwtService.generateRefreshToken(user);
+
+        MvcResult promotion = mockMvc.perform(post("/vendors/profile")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + jwtService.generateToken(user))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"businessName\":\"Lens Studio " + suffix + "\",\"category\":\"PHOTOGRAPHY\"}"))
+                .andExpect(status().isCreated())
+                .andReturn();
+        assertThat(promotion.getResponse().getHeader(HttpHeaders.AUTHORIZATION)).startsWith("Bearer ");
+        String refreshToken = promotion.getResponse().getHeader(VendorController.REFRESH_TOKEN_HEADER);
+        assertThat(refreshToken).isNotBlank();
+
+        mockMvc.perform(post("/auth/refresh")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"refreshToken\":\"" + refreshToken + "\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.role").value("VENDOR"))
+                .andExpect(jsonPath("$.vendorId").isNumber());
+
+        // The refresh token issued before the promotion carries the old role and version
+        mockMvc.perform(post("/auth/refresh")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"refreshToken\":\"" + oldRefreshToken + "\"}"))
+                .andExpect(status().isUnauthorized());
+    }
+}
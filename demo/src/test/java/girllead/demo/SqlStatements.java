@@ -0,0 +1,40 @@
+package girllead.demo;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.function.Supplier;
+
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import girllead.demo.sql.SqlRequestStats;
+import girllead.demo.sql.SqlRequestStatsFilter;
+
+// Query-count assertions backed by the same data source hook as the X-SQL-Statement-Count header, so an N+1
+// regression in a response mapper fails the build
+public final class SqlStatements {
+
+    private SqlStatements() {
+    }
+
+    // Runs the call on this thread and fails if it executed more than maxStatements statements
+    public static <T> T assertAtMost(int maxStatements, Supplier<T> call) {
+        SqlRequestStats stats = SqlRequestStats.start();
+        T result;
+        try {
+            result = call.get();
+        } finally {
+            stats.stop();
+        }
+        assertThat(stats.getStatementCount()).as("SQL statements").isLessThanOrEqualTo(maxStatements);
+        return result;
+    }
+
+    // For MockMvc: the whole request, security filters included, as reported in the response header
+    public static ResultMatcher atMost(int maxStatements) {
+        return result -> {
+            String header = result.getResponse().getHeader(SqlRequestStatsFilter.STATEMENT_COUNT_HEADER);
+            assertThat(header).as(SqlRequestStatsFilter.STATEMENT_COUNT_HEADER).isNotNull();
+            assertThat(Integer.parseInt(header)).as("SQL statements").isLessThanOrEqualTo(maxStatements);
+        };
+    }
+}
@@ -0,0 +1,121 @@
+package girllead.demo.load;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.util.unit.DataSize;
+
+import girllead.EventEaseApplication;
+import girllead.Service.BookingExportService;
+import girllead.Service.BookingExportService.ExportFormat;
+
+// Heap used by a full booking export. Exports every booking in a file-backed H2 database (so the table itself
+// is not on the heap) as CSV into a discarding stream and tracks the live heap, i.e. what remains after each
+// garbage collection. Skipped in normal builds. The database under target/export-heap is kept between runs
+// and seeded with eventease.load.export.bookings bookings only when empty, so seed it once with room to spare
+// (H2 inserts slow down as the indexes outgrow its page cache; 1M bookings take about 10 minutes, 5M hours)
+//   mvn test -Dtest=BookingExportHeapTests -Deventease.load.export.enabled=true -DargLine=-Xmx2g
+// then measure with a capped heap, which makes a buffering export fail outright rather than report a number
+// (with a large heap the collector leaves garbage in the old generation, so the seed run's figures are not live)
+//   mvn test -Dtest=BookingExportHeapTests -Deventease.load.export.enabled=true -DargLine=-Xmx256m
+@SpringBootTest(classes = EventEaseApplication.class, properties = {
+        "spring.datasource.url=jdbc:h2:file:./target/export-heap/eventease;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_ON_EXIT=FALSE",
+        "spring.jpa.hibernate.ddl-auto=update",
+        "eventease.load.bookings=${eventease.load.export.bookings:5000000}"
+})
+@ActiveProfiles("load")
+@Import(SyntheticDataSeeder.class)
+@EnabledIfSystemProperty(named = "eventease.load.export.enabled", matches = "true")
+class BookingExportHeapTests {
+
+    private static final Logger log = LoggerFactory.getLogger(BookingExportHeapTests.class);
+
+    @Autowired
+    private SyntheticDataSeeder seeder;
+
+    @Autowired
+    private BookingExportService bookingExportService;
+
+    @Value("${eventease.load.export.max-heap-growth:64MB}")
+    private DataSize maxHeapGrowth;
+
+    @Test
+    void exportHeapDoesNotGrowWithRowCount() throws Exception {
+        System.gc();
+        long before = liveHeap();
+        AtomicLong peak = new AtomicLong(before);
+        AtomicBoolean exporting = new AtomicBoolean(true);
+        Thread sampler = new Thread(() -> {
+            while (exporting.get()) {
+                peak.accumulateAndGet(liveHeap(), Math::max);
+                try {
+                    Thread.sleep(20);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        }, "export-heap-sampler");
+        sampler.start();
+
+        long start = System.nanoTime();
+        CountingOutputStream out = new CountingOutputStream();
+        long rows;
+        try {
+            rows = bookingExportService.export(null, ExportFormat.CSV, out);
+        } finally {
+            exporting.set(false);
+            sampler.join();
+        }
+        long millis = (System.nanoTime() - start) / 1_000_000;
+
+        long growth = peak.get() - before;
+        log.info("Exported {} bookings ({} MB of CSV) in {} ms; live heap {} MB before, peak {} MB during, max heap {} MB",
+                rows, out.bytes / (1024 * 1024), millis, before / (1024 * 1024), peak.get() / (1024 * 1024),
+                Runtime.getRuntime().maxMemory() / (1024 * 1024));
+        assertThat(rows).isEqualTo(seeder.getBookingCount());
+        assertThat(growth).as("live heap growth during the export").isLessThanOrEqualTo(maxHeapGrowth.toBytes());
+    }
+
+    // ---- Private Helper Methods ----
+    // Heap still in use after the most recent collection of each pool; unlike current usage it excludes garbage
+    private static long liveHeap() {
+        long used = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            MemoryUsage afterGc = pool.getCollectionUsage();
+            if (pool.getType() == MemoryType.HEAP && afterGc != null) {
+                used += afterGc.getUsed();
+            }
+        }
+        return used;
+    }
+
+    private static final class CountingOutputStream extends OutputStream {
+        private long bytes;
+
+        @Override
+        public void write(int b) {
+            bytes++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            bytes += len;
+        }
+    }
+}
@@ -0,0 +1,491 @@
+package girllead.demo.load;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.SecureRandom;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.crypto.bcrypt.BCrypt;
+
+import girllead.demo.backendenums.BookingStatus;
+import girllead.demo.backendenums.VendorCategory;
+
+// Production-scale synthetic dataset: users, vendors (every category, Zipf-skewed towns and prices), vendor
+// galleries, bookings in every status and reviews with matching vendor rating aggregates. Rows are streamed,
+// never held, so tens of millions of bookings need only a few bytes per vendor of heap.
+// The same seed and as-of date always produce the same rows, whichever output is used; each table draws from
+// its own random stream so generation order does not change the content.
+// Users 1..vendors own the vendors (role VENDOR); the rest are planners. Every user's password is the same.
+//
+// Two outputs:
+//   writeTo(connection)  JDBC batch inserts into an empty schema (for MySQL add rewriteBatchedStatements=true)
+//   writeCsv(directory)  one CSV per table plus load.sql, a LOAD DATA LOCAL INFILE script
+//
+// Standalone, against a schema created by starting the application once:
+//   mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=girllead.demo.load.DatasetGenerator \
+//     -Dexec.args="--url=jdbc:mysql://localhost:3306/girl_lead?rewriteBatchedStatements=true --username=root
+//                  --password=... --users=2000000 --vendors=100000 --bookings=10000000"
+//   or with --csv=target/dataset instead of the connection settings, then from that directory:
+//     mysql --local-infile=1 -u root -p girl_lead < load.sql
+// Other options: --seed (42), --review-rate (0.6), --user-password (loadtest), --as-of (today, yyyy-MM-dd).
+public final class DatasetGenerator {
+
+    private static final Logger log = LoggerFactory.getLogger(DatasetGenerator.class);
+
+    private static final int BATCH_SIZE = 1000;
+    private static final int PROGRESS_INTERVAL = 1_000_000;
+    private static final int GALLERY_IMAGES = 3;
+    // Ordered by popularity; drawn with Zipf skew
+    static final String[] LOCATIONS = {"Nairobi", "Mombasa", "Kisumu", "Nakuru", "Eldoret", "Thika", "Naivasha",
+            "Malindi", "Kitale", "Nyeri", "Machakos", "Meru", "Kericho", "Nanyuki", "Diani", "Lamu", "Kakamega",
+            "Kisii", "Garissa", "Embu", "Kilifi", "Voi", "Narok", "Isiolo", "Watamu", "Homa Bay", "Bungoma",
+            "Kitui", "Kajiado", "Limuru"};
+    private static final String[] WORDS = {"elegant", "wedding", "corporate", "garden", "premium", "classic",
+            "modern", "luxury", "budget", "outdoor", "family", "tented", "beach", "sunset", "gala", "studio"};
+    private static final String[] EVENT_TYPES = {"Wedding", "Birthday", "Corporate", "Graduation", "Baby Shower", "Funeral"};
+    // Review ratings skew high, as on most marketplaces
+    private static final int[] RATING_WEIGHTS = {7, 6, 12, 30, 45};
+    private static final DateTimeFormatter CSV_TIMESTAMP = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    // Declared parents first; JDBC batches are flushed in this order so foreign keys always resolve
+    enum Table {
+        USERS("users", "id", "username", "email", "password", "first_name", "last_name", "phone_number", "role",
+                "created_at", "updated_at", "is_active", "token_version"),
+        VENDORS("vendors", "id", "business_name", "description", "category", "service_location", "min_price",
+                "max_price", "profile_image_url", "is_verified", "is_available", "years_of_experience", "created_at",
+                "updated_at", "user_id", "average_rating", "total_reviews", "rating_sum", "one_star_count",
+                "two_star_count", "three_star_count", "four_star_count", "five_star_count"),
+        VENDOR_GALLERY("vendor_gallery", "vendor_id", "image_url"),
+        BOOKINGS("bookings", "id", "event_date", "event_location", "event_description", "guest_count", "total_price",
+                "status", "special_requirements", "booking_date", "updated_at", "user_id", "vendor_id", "event_type",
+                "special_requests", "budget", "created_at"),
+        REVIEWS("reviews", "id", "rating", "comment", "created_at", "updated_at", "user_id", "vendor_id", "booking_id");
+
+        final String tableName;
+        final String[] columns;
+
+        Table(String tableName, String... columns) {
+            this.tableName = tableName;
+            this.columns = columns;
+        }
+
+        String insertSql() {
+            return "INSERT INTO " + tableName + " (" + String.join(", ", columns) + ") VALUES ("
+                    + "?, ".repeat(columns.length - 1) + "?)";
+        }
+    }
+
+    private interface RowWriter {
+        void write(Table table, Object... row) throws IOException, SQLException;
+    }
+
+    private final long seed;
+    private final int userCount;
+    private final int vendorCount;
+    private final int bookingCount;
+    private final double reviewRate;
+    private final String password;
+    private final LocalDateTime asOf;
+    private int reviewCount;
+
+    // reviewRate is the share of completed bookings that get a review
+    public DatasetGenerator(long seed, int userCount, int vendorCount, int bookingCount, double reviewRate,
+                            String password, LocalDate asOf) {
+        if (vendorCount < 1 || userCount <= vendorCount || bookingCount < 0) {
+            throw new IllegalArgumentException("Dataset needs at least one vendor and more users than vendors");
+        }
+        this.seed = seed;
+        this.userCount = userCount;
+        this.vendorCount = vendorCount;
+        this.bookingCount = bookingCount;
+        this.reviewRate = reviewRate;
+        this.password = password;
+        this.asOf = asOf.atStartOfDay();
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int equals = arg.indexOf('=');
+            if (!arg.startsWith("--") || equals < 0) {
+                throw new IllegalArgumentException("Expected --name=value, got " + arg);
+            }
+            options.put(arg.substring(2, equals), arg.substring(equals + 1));
+        }
+        DatasetGenerator generator = new DatasetGenerator(
+                Long.parseLong(options.getOrDefault("seed", "42")),
+                Integer.parseInt(options.getOrDefault("users", "1000000")),
+                Integer.parseInt(options.getOrDefault("vendors", "50000")),
+                Integer.parseInt(options.getOrDefault("bookings", "5000000")),
+                Double.parseDouble(options.getOrDefault("review-rate", "0.6")),
+                options.getOrDefault("user-password", "loadtest"),
+                options.containsKey("as-of") ? LocalDate.parse(options.get("as-of")) : LocalDate.now());
+        if (options.containsKey("csv")) {
+            generator.writeCsv(Paths.get(options.get("csv")));
+        } else if (options.containsKey("url")) {
+            try (Connection connection = DriverManager.getConnection(options.get("url"),
+                    options.get("username"), options.get("password"))) {
+                generator.writeTo(connection);
+            }
+        } else {
+            throw new IllegalArgumentException("Either --url or --csv is required");
+        }
+    }
+
+    // Inserts into empty tables with explicit IDs, committing after every flush so no transaction gets large
+    public void writeTo(Connection connection) throws SQLException {
+        long start = System.currentTimeMillis();
+        boolean autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(false);
+        try (JdbcRowWriter writer = new JdbcRowWriter(connection)) {
+            writeUsers(writer);
+            // Aggregates start at zero and are set once the reviews exist
+            writeVendors(writer, null);
+            int[] stars = writeBookingsAndReviews(writer);
+            writer.flush();
+            updateRatingAggregates(connection, stars);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        } finally {
+            connection.setAutoCommit(autoCommit);
+        }
+        logSummary("Inserted", start);
+    }
+
+    // Bookings go first here so vendors.csv can carry final rating aggregates; load.sql loads in FK order anyway
+    public void writeCsv(Path directory) throws IOException {
+        long start = System.currentTimeMillis();
+        Files.createDirectories(directory);
+        try (CsvRowWriter writer = new CsvRowWriter(directory)) {
+            writeUsers(writer);
+            int[] stars = writeBookingsAndReviews(writer);
+            writeVendors(writer, stars);
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+        logSummary("Wrote " + directory.toAbsolutePath() + " with", start);
+    }
+
+    public int getUserCount() {
+        return userCount;
+    }
+
+    public int getVendorCount() {
+        return vendorCount;
+    }
+
+    public int getBookingCount() {
+        return bookingCount;
+    }
+
+    // Known once a write has finished
+    public int getReviewCount() {
+        return reviewCount;
+    }
+
+    public String getPassword() {
+        return password;
+    }
+
+    public static String username(long userId) {
+        return "user" + userId;
+    }
+
+    // ---- Private Helper Methods ----
+    private void writeUsers(RowWriter writer) throws IOException, SQLException {
+        Random random = random(1);
+        // One BCrypt hash for everyone, with a seeded salt so the rows stay identical between runs
+        Random saltRandom = random(0);
+        String passwordHash = BCrypt.hashpw(password, BCrypt.gensalt(10, new SecureRandom() {
+            @Override
+            public void nextBytes(byte[] bytes) {
+                saltRandom.nextBytes(bytes);
+            }
+        }));
+        for (long id = 1; id <= userCount; id++) {
+            LocalDateTime createdAt = asOf.minusMinutes(random.nextInt(3 * 365 * 24 * 60));
+            writer.write(Table.USERS, id, username(id), username(id) + "@example.com", passwordHash,
+                    "First" + id, "Last" + id, String.format("+2547%08d", id % 100000000),
+                    id <= vendorCount ? "VENDOR" : "USER", createdAt, createdAt, true, 0);
+        }
+    }
+
+    private void writeVendors(RowWriter writer, int[] stars) throws IOException, SQLException {
+        Random random = random(2);
+        VendorCategory[] categories = VendorCategory.values();
+        ZipfSampler categoryPopularity = new ZipfSampler(categories.length, 0.8);
+        ZipfSampler locationPopularity = new ZipfSampler(LOCATIONS.length, 1.0);
+        ZipfSampler priceBand = new ZipfSampler(20, 1.2);
+        for (long id = 1; id <= vendorCount; id++) {
+            // The first vendors cover every category once so even small datasets exercise all of them
+            VendorCategory category = id <= categories.length
+                    ? categories[(int) id - 1] : categories[categoryPopularity.sample(random)];
+            String location = LOCATIONS[locationPopularity.sample(random)];
+            // Most vendors are cheap; a long tail charges many times more
+            BigDecimal minPrice = BigDecimal.valueOf(5000L * (priceBand.sample(random) + 1) + random.nextInt(5000));
+            BigDecimal maxPrice = minPrice.multiply(BigDecimal.valueOf(2 + random.nextInt(4)));
+            LocalDateTime createdAt = asOf.minusMinutes(random.nextInt(3 * 365 * 24 * 60));
+            long[] counts = new long[5];
+            if (stars != null) {
+                for (int rating = 0; rating < 5; rating++) {
+                    counts[rating] = stars[(int) id * 5 + rating];
+                }
+            }
+            long total = counts[0] + counts[1] + counts[2] + counts[3] + counts[4];
+            long sum = counts[0] + 2 * counts[1] + 3 * counts[2] + 4 * counts[3] + 5 * counts[4];
+            writer.write(Table.VENDORS, id, words(random, 2) + " " + category.getDisplayName() + " " + id,
+                    words(random, 14), category.name(), location, minPrice, maxPrice,
+                    "https://cdn.example.com/vendors/" + id + "/profile.jpg", random.nextInt(10) < 8,
+                    random.nextInt(10) < 9, random.nextInt(25), createdAt, createdAt, id,
+                    averageRating(total, sum), total, sum, counts[0], counts[1], counts[2], counts[3], counts[4]);
+            for (int image = 1; image <= GALLERY_IMAGES; image++) {
+                writer.write(Table.VENDOR_GALLERY, id, "https://cdn.example.com/vendors/" + id + "/" + image + ".jpg");
+            }
+        }
+    }
+
+    // Returns review counts per vendor and star, flattened as stars[vendorId * 5 + rating - 1]
+    private int[] writeBookingsAndReviews(RowWriter writer) throws IOException, SQLException {
+        Random random = random(3);
+        ZipfSampler vendorPopularity = new ZipfSampler(vendorCount, 1.1);
+        ZipfSampler plannerActivity = new ZipfSampler(userCount - vendorCount, 0.6);
+        int[] stars = new int[(vendorCount + 1) * 5];
+        reviewCount = 0;
+        for (long id = 1; id <= bookingCount; id++) {
+            long vendorId = vendorPopularity.sample(random) + 1;
+            long userId = vendorCount + plannerActivity.sample(random) + 1;
+            // Two years back to one year ahead, on the hour
+            LocalDateTime eventDate = asOf.minusHours(2L * 365 * 24).plusHours(random.nextInt(3 * 365 * 24));
+            BookingStatus status = status(random, eventDate.isBefore(asOf));
+            LocalDateTime createdAt = eventDate.minusDays(7 + random.nextInt(180));
+            if (createdAt.isAfter(asOf)) {
+                createdAt = asOf.minusDays(random.nextInt(30));
+            }
+            BigDecimal budget = BigDecimal.valueOf(20000 + random.nextInt(480000));
+            writer.write(Table.BOOKINGS, id, eventDate, LOCATIONS[random.nextInt(LOCATIONS.length)],
+                    words(random, 10), 20 + random.nextInt(480), budget, status.name(), null, createdAt, createdAt,
+                    userId, vendorId, EVENT_TYPES[random.nextInt(EVENT_TYPES.length)], words(random, 6), budget,
+                    createdAt);
+
+            if (status == BookingStatus.COMPLETED && random.nextDouble() < reviewRate) {
+                int rating = rating(random);
+                stars[(int) vendorId * 5 + rating - 1]++;
+                LocalDateTime reviewedAt = eventDate.plusDays(1 + random.nextInt(14));
+                writer.write(Table.REVIEWS, ++reviewCount, rating, words(random, 12), reviewedAt, reviewedAt,
+                        userId, vendorId, id);
+            }
+            if (id % PROGRESS_INTERVAL == 0) {
+                log.info("Generated {} of {} bookings", id, bookingCount);
+            }
+        }
+        return stars;
+    }
+
+    // Same columns and rounding RatingUpdatePipeline maintains, so the startup reconcile finds nothing to repair
+    private void updateRatingAggregates(Connection connection, int[] stars) throws SQLException {
+        try (PreparedStatement update = connection.prepareStatement("UPDATE vendors SET average_rating = ?, " +
+                "total_reviews = ?, rating_sum = ?, one_star_count = ?, two_star_count = ?, three_star_count = ?, " +
+                "four_star_count = ?, five_star_count = ? WHERE id = ?")) {
+            for (int vendorId = 1; vendorId <= vendorCount; vendorId++) {
+                long total = 0;
+                long sum = 0;
+                for (int rating = 1; rating <= 5; rating++) {
+                    int count = stars[vendorId * 5 + rating - 1];
+                    total += count;
+                    sum += (long) rating * count;
+                    update.setInt(3 + rating, count);
+                }
+                if (total == 0) {
+                    continue;
+                }
+                update.setBigDecimal(1, averageRating(total, sum));
+                update.setLong(2, total);
+                update.setLong(3, sum);
+                update.setLong(9, vendorId);
+                update.addBatch();
+                if (vendorId % BATCH_SIZE == 0) {
+                    update.executeBatch();
+                    connection.commit();
+                }
+            }
+            update.executeBatch();
+            connection.commit();
+        }
+    }
+
+    private void logSummary(String action, long start) {
+        log.info("{} {} users, {} vendors, {} bookings and {} reviews in {} ms", action, userCount, vendorCount,
+                bookingCount, reviewCount, System.currentTimeMillis() - start);
+    }
+
+    // Independent, seed-derived stream per table
+    private Random random(int stream) {
+        return new Random(seed ^ (0x9E3779B97F4A7C15L * (stream + 1)));
+    }
+
+    private static BigDecimal averageRating(long total, long sum) {
+        return total > 0
+                ? BigDecimal.valueOf(sum).divide(BigDecimal.valueOf(total), 2, RoundingMode.HALF_UP)
+                : BigDecimal.ZERO;
+    }
+
+    private static BookingStatus status(Random random, boolean past) {
+        int roll = random.nextInt(100);
+        if (past) {
+            return roll < 75 ? BookingStatus.COMPLETED : roll < 92 ? BookingStatus.CANCELLED : BookingStatus.REFUNDED;
+        }
+        return roll < 45 ? BookingStatus.PENDING : roll < 85 ? BookingStatus.CONFIRMED : BookingStatus.CANCELLED;
+    }
+
+    private static int rating(Random random) {
+        int roll = random.nextInt(100);
+        for (int stars = 0; stars < RATING_WEIGHTS.length; stars++) {
+            roll -= RATING_WEIGHTS[stars];
+            if (roll < 0) {
+                return stars + 1;
+            }
+        }
+        return 5;
+    }
+
+    private static String words(Random random, int count) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                text.append(' ');
+            }
+            text.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return text.toString();
+    }
+
+    // One prepared statement per table; when any batch fills, every pending batch is executed parents first
+    private static final class JdbcRowWriter implements RowWriter, AutoCloseable {
+
+        private final Connection connection;
+        private final Map<Table, PreparedStatement> statements = new EnumMap<>(Table.class);
+        private final Map<Table, Integer> pending = new EnumMap<>(Table.class);
+
+        JdbcRowWriter(Connection connection) {
+            this.connection = connection;
+        }
+
+        @Override
+        public void write(Table table, Object... row) throws SQLException {
+            PreparedStatement statement = statements.get(table);
+            if (statement == null) {
+                statement = connection.prepareStatement(table.insertSql());
+                statements.put(table, statement);
+            }
+            for (int i = 0; i < row.length; i++) {
+                statement.setObject(i + 1, row[i]);
+            }
+            statement.addBatch();
+            if (pending.merge(table, 1, Integer::sum) >= BATCH_SIZE) {
+                flush();
+            }
+        }
+
+        void flush() throws SQLException {
+            for (Map.Entry<Table, PreparedStatement> entry : statements.entrySet()) {
+                if (pending.getOrDefault(entry.getKey(), 0) > 0) {
+                    entry.getValue().executeBatch();
+                }
+            }
+            pending.clear();
+            connection.commit();
+        }
+
+        @Override
+        public void close() throws SQLException {
+            for (PreparedStatement statement : statements.values()) {
+                statement.close();
+            }
+        }
+    }
+
+    // MySQL LOAD DATA defaults: backslash escapes, \N for NULL, 1/0 for booleans
+    private static final class CsvRowWriter implements RowWriter, AutoCloseable {
+
+        private final Path directory;
+        private final Map<Table, BufferedWriter> files = new EnumMap<>(Table.class);
+
+        CsvRowWriter(Path directory) throws IOException {
+            this.directory = directory;
+            writeLoadScript();
+        }
+
+        @Override
+        public void write(Table table, Object... row) throws IOException {
+            BufferedWriter out = files.get(table);
+            if (out == null) {
+                out = Files.newBufferedWriter(directory.resolve(table.tableName + ".csv"));
+                files.put(table, out);
+            }
+            for (int i = 0; i < row.length; i++) {
+                if (i > 0) {
+                    out.write(',');
+                }
+                out.write(format(row[i]));
+            }
+            out.write('\n');
+        }
+
+        @Override
+        public void close() throws IOException {
+            for (BufferedWriter out : files.values()) {
+                out.close();
+            }
+        }
+
+        private void writeLoadScript() throws IOException {
+            StringBuilder script = new StringBuilder()
+                    .append("-- Generated by DatasetGenerator; run from this directory with mysql --local-infile=1\n")
+                    .append("SET foreign_key_checks = 0;\nSET unique_checks = 0;\n");
+            for (Table table : Table.values()) {
+                script.append("LOAD DATA LOCAL INFILE '").append(table.tableName).append(".csv' INTO TABLE ")
+                        .append(table.tableName).append(" CHARACTER SET utf8mb4")
+                        .append(" FIELDS TERMINATED BY ',' OPTIONALLY ENCLOSED BY '\"' LINES TERMINATED BY '\\n' (")
+                        .append(String.join(", ", table.columns)).append(");\n");
+            }
+            script.append("SET unique_checks = 1;\nSET foreign_key_checks = 1;\n");
+            Files.writeString(directory.resolve("load.sql"), script);
+        }
+
+        private static String format(Object value) {
+            if (value == null) {
+                return "\\N";
+            }
+            if (value instanceof Boolean flag) {
+                return flag ? "1" : "0";
+            }
+            if (value instanceof LocalDateTime timestamp) {
+                return CSV_TIMESTAMP.format(timestamp);
+            }
+            if (value instanceof BigDecimal decimal) {
+                return decimal.toPlainString();
+            }
+            if (value instanceof String text) {
+                return '"' + text.replace("\\", "\\\\").replace("\"", "\\\"") + '"';
+            }
+            return value.toString();
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package girllead.demo.load;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import girllead.demo.backendenums.BookingStatus;
+import girllead.demo.backendenums.VendorCategory;
+
+// Benchmark runs are only comparable if a seed always yields the same dataset
+class DatasetGeneratorTests {
+
+    private static final LocalDate AS_OF = LocalDate.of(2026, 1, 1);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void sameSeedWritesIdenticalFiles() throws IOException {
+        generator(7).writeCsv(directory.resolve("first"));
+        generator(7).writeCsv(directory.resolve("second"));
+        generator(8).writeCsv(directory.resolve("other"));
+
+        for (String file : new String[] {"users.csv", "vendors.csv", "vendor_gallery.csv", "bookings.csv", "reviews.csv"}) {
+            byte[] first = Files.readAllBytes(directory.resolve("first").resolve(file));
+            assertThat(first).isNotEmpty();
+            assertThat(first).isEqualTo(Files.readAllBytes(directory.resolve("second").resolve(file)));
+        }
+        assertThat(Files.readString(directory.resolve("first").resolve("bookings.csv")))
+                .isNotEqualTo(Files.readString(directory.resolve("other").resolve("bookings.csv")));
+    }
+
+    @Test
+    void coversEveryCategoryAndStatus() throws IOException {
+        generator(42).writeCsv(directory);
+
+        String vendors = Files.readString(directory.resolve("vendors.csv"));
+        String bookings = Files.readString(directory.resolve("bookings.csv"));
+        assertThat(Arrays.stream(VendorCategory.values())).allMatch(category -> vendors.contains("\"" + category.name() + "\""));
+        assertThat(Arrays.stream(BookingStatus.values())).allMatch(status -> bookings.contains("\"" + status.name() + "\""));
+        assertThat(Files.readString(directory.resolve("load.sql"))).contains("LOAD DATA LOCAL INFILE 'reviews.csv'");
+    }
+
+    // ---- Private Helper Methods ----
+    private static DatasetGenerator generator(long seed) {
+        return new DatasetGenerator(seed, 500, 50, 5000, 0.6, "loadtest", AS_OF);
+    }
+}
@@ -0,0 +1,208 @@
+package girllead.demo.load;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Random;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import girllead.EventEaseApplication;
+import girllead.demo.backendenums.VendorCategory;
+
+// End-to-end load harness: boots the application on H2 in MySQL mode, seeds it with SyntheticDataSeeder and
+// drives HTTP traffic at it. Skipped in normal builds; run with
+//   mvn test -Dtest=EventEaseLoadTests -Deventease.load.enabled=true
+// and override any eventease.load.* property the same way (see application-load.properties).
+// Each scenario prints a per-endpoint table and writes target/load/<scenario>-<timestamp>.json.
+@SpringBootTest(classes = EventEaseApplication.class, webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("load")
+@Import(SyntheticDataSeeder.class)
+@EnabledIfSystemProperty(named = "eventease.load.enabled", matches = "true")
+class EventEaseLoadTests {
+
+    private static final Logger log = LoggerFactory.getLogger(EventEaseLoadTests.class);
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+    private static final VendorCategory[] CATEGORIES = VendorCategory.values();
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private SyntheticDataSeeder seeder;
+
+    @Value("${eventease.load.seed:42}")
+    private long seed;
+
+    @Value("${eventease.load.concurrency:32}")
+    private int concurrency;
+
+    @Value("${eventease.load.warmup:PT10S}")
+    private Duration warmup;
+
+    @Value("${eventease.load.duration:PT30S}")
+    private Duration duration;
+
+    @Value("${eventease.load.flood-p99-factor:3.0}")
+    private double floodP99Factor;
+
+    private ZipfSampler vendorPopularity;
+    private ZipfSampler locationPopularity;
+    private int plannerCount;
+
+    @BeforeEach
+    void setUp() {
+        vendorPopularity = new ZipfSampler(seeder.getVendorCount(), 1.1);
+        locationPopularity = new ZipfSampler(DatasetGenerator.LOCATIONS.length, 1.0);
+        plannerCount = seeder.getUserCount() - seeder.getVendorCount();
+    }
+
+    // Roughly the production mix: mostly anonymous search, the rest split between logins, new bookings and
+    // vendor review pages
+    @Test
+    void productionMix() throws Exception {
+        LoadGenerator generator = new LoadGenerator()
+                .add("vendor-search", 70, this::search)
+                .add("login", 10, this::login)
+                .add("create-booking", 10, this::createBooking)
+                .add("vendor-reviews", 10, this::vendorReviews);
+
+        LoadReport report = run("production-mix", concurrency, generator);
+
+        report.getEndpoints().forEach(endpoint -> assertThat(endpoint.statuses.get("2xx")).as(endpoint.name).isPositive());
+    }
+
+    // Measures search alone, then again with as many extra workers doing nothing but logins: far more BCrypt
+    // work than the hashing pool can absorb. Excess logins must be shed with 429, and search p99 must stay
+    // within eventease.load.flood-p99-factor of the search-only run.
+    @Test
+    void searchUnderLoginFlood() throws Exception {
+        LoadGenerator baselineGenerator = new LoadGenerator()
+                .add("vendor-search", 1, this::search);
+        LoadReport.Endpoint baseline = run("search-only", concurrency, baselineGenerator).endpoint("vendor-search");
+
+        // Twice the workers at a 50/50 mix keeps the expected number of searching workers the same
+        LoadGenerator floodGenerator = new LoadGenerator()
+                .add("vendor-search", 50, this::search)
+                .add("login", 50, this::login);
+        LoadReport flood = run("login-flood", 2 * concurrency, floodGenerator);
+
+        LoadReport.Endpoint search = flood.endpoint("vendor-search");
+        assertThat(search.statuses.get("5xx")).isZero();
+        assertThat(flood.endpoint("login").statuses.get("429")).as("logins shed").isPositive();
+        assertThat(search.p99)
+                .as("search p99 under the login flood vs %.1f ms search-only", baseline.p99)
+                .isLessThanOrEqualTo(floodP99Factor * baseline.p99);
+    }
+
+    // ---- Private Helper Methods ----
+    private LoadReport run(String scenario, int workers, LoadGenerator generator) throws Exception {
+        LoadReport report = generator.run(workers, warmup, duration, i -> {
+            Random random = new Random(seed + i);
+            // Each worker books as its own planner so bookings spread over users like real traffic
+            long userId = seeder.getVendorCount() + 1 + (i % plannerCount);
+            return new LoadGenerator.Worker(random, obtainToken(generator, userId));
+        });
+        log.info(report.toTable(scenario));
+        log.info("Load report written to {}", report.write(scenario));
+        report.getEndpoints().forEach(endpoint -> assertThat(endpoint.statuses.get("build-error"))
+                .as("%s requests that could not be built", endpoint.name).isZero());
+        return report;
+    }
+
+    private String obtainToken(LoadGenerator generator, long userId) {
+        try {
+            HttpResponse<String> response = generator.client().send(loginRequest(userId), HttpResponse.BodyHandlers.ofString());
+            return JSON.readTree(response.body()).get("token").asText();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private HttpRequest search(LoadGenerator.Worker worker) {
+        Random random = worker.random;
+        StringBuilder query = new StringBuilder("/vendors/search?size=10");
+        param(query, "page", random.nextInt(10) < 8 ? 0 : random.nextInt(5));
+        if (random.nextInt(10) < 7) {
+            param(query, "category", CATEGORIES[random.nextInt(CATEGORIES.length)]);
+        }
+        if (random.nextInt(10) < 5) {
+            // Some locations contain spaces, e.g. "Homa Bay"
+            param(query, "location", DatasetGenerator.LOCATIONS[locationPopularity.sample(random)]);
+        }
+        if (random.nextInt(10) < 3) {
+            param(query, "maxPrice", 20000 + random.nextInt(100000));
+        }
+        param(query, "sortBy", random.nextInt(10) < 7 ? "averageRating" : "minPrice");
+        return HttpRequest.newBuilder(uri(query.toString())).GET().build();
+    }
+
+    private HttpRequest login(LoadGenerator.Worker worker) {
+        return loginRequest(seeder.getVendorCount() + 1 + worker.random.nextInt(plannerCount));
+    }
+
+    private HttpRequest createBooking(LoadGenerator.Worker worker) {
+        Random random = worker.random;
+        // Popular vendors get most requests, so some land on a taken slot and are refused with 409
+        LocalDateTime eventDate = LocalDateTime.now().withNano(0).withSecond(0).withMinute(0)
+                .plusHours(24 + random.nextInt(365 * 24));
+        String body = String.format("{\"vendorId\":%d,\"eventDate\":\"%s\",\"eventLocation\":\"%s\"," +
+                        "\"guestCount\":%d,\"eventType\":\"Wedding\",\"budget\":%d}",
+                vendorPopularity.sample(random) + 1, eventDate,
+                DatasetGenerator.LOCATIONS[locationPopularity.sample(random)], 20 + random.nextInt(480),
+                20000 + random.nextInt(480000));
+        return HttpRequest.newBuilder(uri("/bookings"))
+                .header("Authorization", "Bearer " + worker.token)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private HttpRequest vendorReviews(LoadGenerator.Worker worker) {
+        return HttpRequest.newBuilder(uri("/reviews/vendor/" + (vendorPopularity.sample(worker.random) + 1) + "/paginated?page=0&size=10"))
+                .header("Authorization", "Bearer " + worker.token)
+                .GET()
+                .build();
+    }
+
+    private HttpRequest loginRequest(long userId) {
+        String body = String.format("{\"username\":\"%s\",\"password\":\"%s\"}",
+                DatasetGenerator.username(userId), seeder.getPassword());
+        return HttpRequest.newBuilder(uri("/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    private static void param(StringBuilder query, String name, Object value) {
+        query.append('&').append(name).append('=').append(URLEncoder.encode(String.valueOf(value), StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,166 @@
+package girllead.demo.load;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntFunction;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+// Closed-loop HTTP load: each worker picks an operation by weight, sends it, waits for the response and
+// records the latency in that operation's HdrHistogram Recorder. Because a worker waits for each response,
+// a saturated server slows the offered rate down; latencies past saturation understate what independent
+// clients would see, so compare runs at the same concurrency.
+final class LoadGenerator {
+
+    // Builds one request for a worker; the worker's Random keeps runs reproducible
+    interface RequestFactory {
+        HttpRequest create(Worker worker);
+    }
+
+    static final class Worker {
+        final Random random;
+        final String token;
+
+        Worker(Random random, String token) {
+            this.random = random;
+            this.token = token;
+        }
+    }
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final Map<String, Operation> operations = new LinkedHashMap<>();
+    private int totalWeight = 0;
+
+    LoadGenerator add(String name, int weight, RequestFactory factory) {
+        operations.put(name, new Operation(name, weight, factory));
+        totalWeight += weight;
+        return this;
+    }
+
+    HttpClient client() {
+        return client;
+    }
+
+    // workerFactory creates worker i, e.g. by logging in as a distinct user
+    LoadReport run(int concurrency, Duration warmup, Duration measurement, IntFunction<Worker> workerFactory)
+            throws InterruptedException {
+        List<Operation> weighted = new ArrayList<>(operations.values());
+        // Workers log in before the clock starts
+        List<Worker> workers = new ArrayList<>(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            workers.add(workerFactory.apply(i));
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(concurrency);
+        long warmupEnds = System.nanoTime() + warmup.toNanos();
+        long runEnds = warmupEnds + measurement.toNanos();
+        for (Worker worker : workers) {
+            executor.execute(() -> {
+                while (System.nanoTime() < runEnds) {
+                    pick(weighted, worker.random).execute(client, worker);
+                }
+            });
+        }
+
+        // Discard what the warmup recorded, then measure
+        TimeUnit.NANOSECONDS.sleep(Math.max(0, warmupEnds - System.nanoTime()));
+        operations.values().forEach(Operation::reset);
+        long measureStart = System.nanoTime();
+        executor.shutdown();
+        executor.awaitTermination(measurement.toNanos() + TimeUnit.SECONDS.toNanos(30), TimeUnit.NANOSECONDS);
+        double seconds = (System.nanoTime() - measureStart) / 1e9;
+
+        LoadReport report = new LoadReport(concurrency, seconds);
+        operations.values().forEach(operation -> report.add(operation.snapshot(seconds)));
+        return report;
+    }
+
+    // ---- Private Helper Methods ----
+    private Operation pick(List<Operation> weighted, Random random) {
+        int roll = random.nextInt(totalWeight);
+        for (Operation operation : weighted) {
+            roll -= operation.weight;
+            if (roll < 0) {
+                return operation;
+            }
+        }
+        return weighted.get(weighted.size() - 1);
+    }
+
+    private static final class Operation {
+
+        private final String name;
+        private final int weight;
+        private final RequestFactory factory;
+        // Wait-free recording from many threads; microseconds up to 60 s at 3 significant digits
+        private final Recorder latency = new Recorder(TimeUnit.SECONDS.toMicros(60), 3);
+        private final Map<String, LongAdder> statuses = new LinkedHashMap<>();
+
+        Operation(String name, int weight, RequestFactory factory) {
+            this.name = name;
+            this.weight = weight;
+            this.factory = factory;
+            for (String status : new String[] {"2xx", "4xx", "429", "5xx", "io-error", "build-error"}) {
+                statuses.put(status, new LongAdder());
+            }
+        }
+
+        void execute(HttpClient client, Worker worker) {
+            HttpRequest request;
+            try {
+                request = factory.create(worker);
+            } catch (RuntimeException e) {
+                // Count a request that cannot be built as a failure rather than let it end the worker's loop
+                statuses.get("build-error").increment();
+                return;
+            }
+            long start = System.nanoTime();
+            String status;
+            try {
+                status = statusClass(client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode());
+            } catch (IOException e) {
+                status = "io-error";
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            latency.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start),
+                    TimeUnit.SECONDS.toMicros(60)));
+            statuses.get(status).increment();
+        }
+
+        void reset() {
+            latency.getIntervalHistogram();
+            statuses.values().forEach(LongAdder::reset);
+        }
+
+        LoadReport.Endpoint snapshot(double seconds) {
+            Histogram histogram = latency.getIntervalHistogram();
+            Map<String, Long> counts = new LinkedHashMap<>();
+            statuses.forEach((status, count) -> counts.put(status, count.sum()));
+            return new LoadReport.Endpoint(name, histogram, seconds, counts);
+        }
+
+        private static String statusClass(int status) {
+            if (status == 429) {
+                return "429";
+            }
+            return status >= 500 ? "5xx" : status >= 400 ? "4xx" : "2xx";
+        }
+    }
+}
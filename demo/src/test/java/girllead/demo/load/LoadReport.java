@@ -0,0 +1,92 @@
+package girllead.demo.load;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.HdrHistogram.Histogram;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+// Throughput and latency percentiles per endpoint for one load run, printable as a table and saved as JSON
+final class LoadReport {
+
+    private static final DateTimeFormatter RUN_ID = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    private final int concurrency;
+    private final double seconds;
+    private final List<Endpoint> endpoints = new ArrayList<>();
+
+    LoadReport(int concurrency, double seconds) {
+        this.concurrency = concurrency;
+        this.seconds = seconds;
+    }
+
+    void add(Endpoint endpoint) {
+        endpoints.add(endpoint);
+    }
+
+    List<Endpoint> getEndpoints() {
+        return endpoints;
+    }
+
+    Endpoint endpoint(String name) {
+        return endpoints.stream().filter(e -> e.name.equals(name)).findFirst().orElseThrow();
+    }
+
+    String toTable(String scenario) {
+        StringBuilder table = new StringBuilder(String.format("%n%s: %d workers, %.1f s%n", scenario, concurrency, seconds));
+        table.append(String.format("%-16s %10s %10s %9s %9s %9s %9s  %s%n",
+                "endpoint", "requests", "req/s", "p50 ms", "p99 ms", "p999 ms", "max ms", "statuses"));
+        for (Endpoint e : endpoints) {
+            table.append(String.format("%-16s %10d %10.1f %9.2f %9.2f %9.2f %9.2f  %s%n",
+                    e.name, e.requests, e.throughput, e.p50, e.p99, e.p999, e.max, e.statuses));
+        }
+        return table.toString();
+    }
+
+    // target/load/<scenario>-<timestamp>.json, one file per run so results can be compared across releases
+    Path write(String scenario) throws IOException {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("scenario", scenario);
+        json.put("timestamp", LocalDateTime.now().toString());
+        json.put("concurrency", concurrency);
+        json.put("seconds", seconds);
+        json.put("endpoints", endpoints);
+        Path directory = Files.createDirectories(Path.of("target", "load"));
+        Path file = directory.resolve(scenario + "-" + LocalDateTime.now().format(RUN_ID) + ".json");
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file.toFile(), json);
+        return file;
+    }
+
+    // Latencies in milliseconds
+    static final class Endpoint {
+
+        public final String name;
+        public final long requests;
+        public final double throughput;
+        public final double p50;
+        public final double p99;
+        public final double p999;
+        public final double max;
+        public final Map<String, Long> statuses;
+
+        Endpoint(String name, Histogram micros, double seconds, Map<String, Long> statuses) {
+            this.name = name;
+            this.requests = micros.getTotalCount();
+            this.throughput = requests / seconds;
+            this.p50 = micros.getValueAtPercentile(50) / 1000.0;
+            this.p99 = micros.getValueAtPercentile(99) / 1000.0;
+            this.p999 = micros.getValueAtPercentile(99.9) / 1000.0;
+            this.max = micros.getMaxValue() / 1000.0;
+            this.statuses = statuses;
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package girllead.demo.load;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDate;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+// Fills an empty schema through DatasetGenerator. Runs as an ApplicationRunner, i.e. before
+// ApplicationReadyEvent, so the in-memory indexes and the rating reconciler start from the seeded tables.
+// Deterministic for a given eventease.load.seed and eventease.load.as-of (today when unset).
+public class SyntheticDataSeeder implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(SyntheticDataSeeder.class);
+
+    @Autowired
+    private DataSource dataSource;
+
+    private final DatasetGenerator generator;
+
+    public SyntheticDataSeeder(
+            @Value("${eventease.load.seed:42}") long seed,
+            @Value("${eventease.load.users:5000}") int userCount,
+            @Value("${eventease.load.vendors:500}") int vendorCount,
+            @Value("${eventease.load.bookings:20000}") int bookingCount,
+            @Value("${eventease.load.review-rate:0.6}") double reviewRate,
+            @Value("${eventease.load.password:loadtest}") String password,
+            @Value("${eventease.load.as-of:}") String asOf) {
+        this.generator = new DatasetGenerator(seed, userCount, vendorCount, bookingCount, reviewRate, password,
+                asOf.isEmpty() ? LocalDate.now() : LocalDate.parse(asOf));
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws SQLException {
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        if (jdbc.queryForObject("SELECT COUNT(*) FROM users", Long.class) > 0) {
+            log.info("Synthetic data already present, not seeding");
+            return;
+        }
+        try (Connection connection = dataSource.getConnection()) {
+            generator.writeTo(connection);
+        }
+        restartIdentities(jdbc);
+    }
+
+    public int getUserCount() {
+        return generator.getUserCount();
+    }
+
+    public int getVendorCount() {
+        return generator.getVendorCount();
+    }
+
+    public int getBookingCount() {
+        return generator.getBookingCount();
+    }
+
+    public String getPassword() {
+        return generator.getPassword();
+    }
+
+    // ---- Private Helper Methods ----
+    // Rows were inserted with explicit IDs; H2 identity columns do not move past them on their own (MySQL's
+    // AUTO_INCREMENT does), so registrations and bookings made during the run would collide
+    private void restartIdentities(JdbcTemplate jdbc) throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            if (!"H2".equals(connection.getMetaData().getDatabaseProductName())) {
+                return;
+            }
+        }
+        jdbc.execute("ALTER TABLE users ALTER COLUMN id RESTART WITH " + (generator.getUserCount() + 1));
+        jdbc.execute("ALTER TABLE vendors ALTER COLUMN id RESTART WITH " + (generator.getVendorCount() + 1));
+        jdbc.execute("ALTER TABLE bookings ALTER COLUMN id RESTART WITH " + (generator.getBookingCount() + 1));
+        jdbc.execute("ALTER TABLE reviews ALTER COLUMN id RESTART WITH " + (generator.getReviewCount() + 1));
+    }
+}